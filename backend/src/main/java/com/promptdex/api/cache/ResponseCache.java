@@ -0,0 +1,151 @@
+package com.promptdex.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.event.PromptReviewsChangedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.service.TagCatalog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Serialized responses for anonymous catalog reads. Prompt entries are dropped by the write events
+ * that change them, tag entries are checked against the tag catalog version on every hit.
+ */
+@Component
+public class ResponseCache {
+    private final Cache<String, CachedResponse> entries;
+    private final TagCatalog tagCatalog;
+    private final boolean enabled;
+    private final Duration freshFor;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(TagCatalog tagCatalog,
+                         @Value("${app.response-cache.enabled:true}") boolean enabled,
+                         @Value("${app.response-cache.max-bytes:33554432}") long maxBytes,
+                         @Value("${app.response-cache.fresh-seconds:30}") long freshSeconds,
+                         @Value("${app.response-cache.stale-seconds:120}") long staleSeconds) {
+        this.tagCatalog = tagCatalog;
+        this.enabled = enabled;
+        this.freshFor = Duration.ofSeconds(freshSeconds);
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse entry) -> key.length() + entry.body().length)
+                .expireAfterWrite(Duration.ofSeconds(freshSeconds + staleSeconds))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the entry to serve, or empty when the caller should produce the response itself.
+     * Once an entry is stale exactly one caller is sent through to revalidate it while everyone
+     * else keeps getting the stale body.
+     */
+    public Optional<CachedResponse> lookup(String key, Instant now) {
+        CachedResponse entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.kind() == Kind.TAGS && !tagCatalog.etag().equals(entry.etag())) {
+            entries.asMap().remove(key, entry);
+            return Optional.empty();
+        }
+        if (now.isBefore(entry.storedAt().plus(freshFor))) {
+            return Optional.of(entry);
+        }
+        return entry.revalidating().compareAndSet(false, true) ? Optional.empty() : Optional.of(entry);
+    }
+
+    /**
+     * Snapshot to pass to {@link #store} so responses computed across an invalidation are discarded.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public boolean store(String key, CachedResponse entry, long expectedGeneration) {
+        if (generation.get() != expectedGeneration) {
+            return false;
+        }
+        entries.put(key, entry);
+        if (generation.get() != expectedGeneration) {
+            entries.asMap().remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    public void releaseRevalidation(String key) {
+        CachedResponse entry = entries.getIfPresent(key);
+        if (entry != null) {
+            entry.revalidating().set(false);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptSaved(PromptSavedEvent event) {
+        invalidatePromptAndListings(event.promptId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptDeleted(PromptDeletedEvent event) {
+        invalidatePromptAndListings(event.promptId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptTagsChanged(PromptTagsChangedEvent event) {
+        invalidatePromptAndListings(event.promptId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptReviewsChanged(PromptReviewsChangedEvent event) {
+        // Ratings only change how a prompt is rendered, not which listings it appears in
+        invalidate(entry -> entry.promptIds().contains(event.promptId()));
+    }
+
+    private void invalidatePromptAndListings(UUID promptId) {
+        invalidate(entry -> entry.kind() == Kind.LISTING || entry.promptIds().contains(promptId));
+    }
+
+    private void invalidate(Predicate<CachedResponse> affected) {
+        generation.incrementAndGet();
+        entries.asMap().values().removeIf(affected);
+    }
+
+    public enum Kind {
+        LISTING,
+        PROMPT,
+        TAGS
+    }
+
+    public record CachedResponse(
+            Kind kind,
+            String contentType,
+            String etag,
+            String cacheControl,
+            byte[] body,
+            Set<UUID> promptIds,
+            Instant storedAt,
+            AtomicBoolean revalidating
+    ) {
+        public CachedResponse(Kind kind, String contentType, String etag, String cacheControl, byte[] body, Set<UUID> promptIds, Instant storedAt) {
+            this(kind, contentType, etag, cacheControl, body, promptIds, storedAt, new AtomicBoolean());
+        }
+    }
+}
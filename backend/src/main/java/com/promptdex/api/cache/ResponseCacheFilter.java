@@ -0,0 +1,162 @@
+package com.promptdex.api.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.promptdex.api.cache.ResponseCache.CachedResponse;
+import com.promptdex.api.cache.ResponseCache.Kind;
+import com.promptdex.api.service.PromptViewCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves anonymous GETs of prompt listings, prompt details and tag listings from {@link ResponseCache}.
+ * Runs inside the security chain, after CORS, so cached responses carry the same headers as fresh ones.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+    private static final Pattern PROMPT_PATH = Pattern.compile("^/api/prompts/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})$");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ResponseCache responseCache;
+    private final PromptViewCounter promptViewCounter;
+
+    public ResponseCacheFilter(ResponseCache responseCache, PromptViewCounter promptViewCounter) {
+        this.responseCache = responseCache;
+        this.promptViewCounter = promptViewCounter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !responseCache.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || kindOf(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // A surrounding transaction could expose uncommitted rows, so neither serve nor store from inside one
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI();
+        Kind kind = kindOf(path);
+        String key = keyOf(path, request);
+        Optional<CachedResponse> cached = responseCache.lookup(key, Instant.now());
+        if (cached.isPresent()) {
+            if (kind == Kind.PROMPT) {
+                promptViewCounter.record(promptIdOf(path));
+            }
+            writeCached(cached.get(), request, response);
+            return;
+        }
+        long generation = responseCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            wrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                stored = responseCache.store(key, toCachedResponse(kind, path, wrapper), generation);
+            }
+        } finally {
+            if (!stored) {
+                responseCache.releaseRevalidation(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeCached(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        if (cached.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.cacheControl());
+        }
+        if (cached.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.etag());
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && ifNoneMatch.contains(cached.etag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(cached.body().length);
+        response.getOutputStream().write(cached.body());
+    }
+
+    private CachedResponse toCachedResponse(Kind kind, String path, ContentCachingResponseWrapper wrapper) {
+        byte[] body = wrapper.getContentAsByteArray();
+        Set<UUID> promptIds = switch (kind) {
+            case PROMPT -> Set.of(promptIdOf(path));
+            case LISTING -> listedPromptIds(body);
+            case TAGS -> Set.of();
+        };
+        return new CachedResponse(kind, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL), body, promptIds, Instant.now());
+    }
+
+    private static Set<UUID> listedPromptIds(byte[] body) {
+        Set<UUID> promptIds = new HashSet<>();
+        try {
+            for (JsonNode item : JSON.readTree(body).path("content")) {
+                promptIds.add(UUID.fromString(item.path("id").asText()));
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            logger.warn("Could not read prompt ids from a cached listing", ex);
+        }
+        return Set.copyOf(promptIds);
+    }
+
+    static Kind kindOf(String path) {
+        if ("/api/prompts".equals(path)) {
+            return Kind.LISTING;
+        }
+        if ("/api/tags".equals(path) || "/api/tags/popular".equals(path)) {
+            return Kind.TAGS;
+        }
+        return PROMPT_PATH.matcher(path).matches() ? Kind.PROMPT : null;
+    }
+
+    static String keyOf(String path, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            key.append(separator).append(parameter.getKey()).append('=').append(String.join(",", parameter.getValue()));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    private static UUID promptIdOf(String path) {
+        Matcher matcher = PROMPT_PATH.matcher(path);
+        matcher.matches();
+        return UUID.fromString(matcher.group(1));
+    }
+}
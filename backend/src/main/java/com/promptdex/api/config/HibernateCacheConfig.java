@@ -0,0 +1,33 @@
+package com.promptdex.api.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Second-level cache for the entities marked {@code @Cache}. Region sizes and TTLs live in the
+ * Caffeine config file; statistics are on so region hit ratios can be reported.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${app.hibernate-cache.enabled:true}") boolean enabled,
+            @Value("${app.hibernate-cache.config:hibernate-cache.conf}") String config) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+            // Statistics would otherwise log a metrics summary for every session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                properties.put(ConfigSettings.PROVIDER, "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+                properties.put(ConfigSettings.CONFIG_URI, config);
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.promptdex.api.config;
+
+import com.promptdex.api.datasource.ReadYourWritesTracker;
+import com.promptdex.api.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured pool with primary/replica routing once {@code app.datasource.replica-urls}
+ * is set. Replicas share the primary's driver, credentials and {@code spring.datasource.hikari.*} settings.
+ * {@code app.datasource.replica-lag-ms} should stay above the worst replication lag seen in production.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource", name = "replica-urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${app.datasource.replica-lag-ms:5000}") long replicaLagMillis) {
+        return new ReadYourWritesTracker(Duration.ofMillis(replicaLagMillis));
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             @Value("${app.datasource.replica-urls}") List<String> replicaUrls,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindPoolSettings(primary, "primary", environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create(properties.getClassLoader())
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            bindPoolSettings(replica, "replica-" + i, environment);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static void bindPoolSettings(HikariDataSource pool, String poolName, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+    }
+}
@@ -1,16 +1,20 @@
 package com.promptdex.api.controller;
 
 import com.promptdex.api.dto.CollectionDetailDto;
+import com.promptdex.api.dto.CollectionMembershipResponse;
 import com.promptdex.api.dto.CollectionSummaryDto;
 import com.promptdex.api.dto.CreateCollectionRequest;
+import com.promptdex.api.dto.PatchCollectionPromptsRequest;
 import com.promptdex.api.service.CollectionService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -43,9 +47,16 @@ public class CollectionController {
     @GetMapping("/{collectionId}")
     public ResponseEntity<CollectionDetailDto> getCollectionById(
             @PathVariable UUID collectionId,
-            @AuthenticationPrincipal UserDetails principal) {
-        CollectionDetailDto collection = collectionService.getCollectionById(collectionId, principal.getUsername());
-        return ResponseEntity.ok(collection);
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails principal,
+            WebRequest request) {
+        String etag = collectionService.getCollectionETag(collectionId, principal.getUsername());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        CollectionDetailDto collection = collectionService.getCollectionById(collectionId, principal.getUsername(), page, size);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(collection);
     }
 
     @PutMapping("/{collectionId}")
@@ -66,12 +77,21 @@ public class CollectionController {
     }
 
     @PutMapping("/{collectionId}/prompts/{promptId}")
-    public ResponseEntity<CollectionDetailDto> addPromptToCollection(
+    public ResponseEntity<CollectionMembershipResponse> addPromptToCollection(
             @PathVariable UUID collectionId,
             @PathVariable UUID promptId,
             @AuthenticationPrincipal UserDetails principal) {
-        CollectionDetailDto updatedCollection = collectionService.addPromptToCollection(collectionId, promptId, principal.getUsername());
-        return ResponseEntity.ok(updatedCollection);
+        CollectionMembershipResponse membership = collectionService.addPromptToCollection(collectionId, promptId, principal.getUsername());
+        return ResponseEntity.ok(membership);
+    }
+
+    @PatchMapping("/{collectionId}/prompts")
+    public ResponseEntity<CollectionMembershipResponse> patchCollectionPrompts(
+            @PathVariable UUID collectionId,
+            @RequestBody PatchCollectionPromptsRequest request,
+            @AuthenticationPrincipal UserDetails principal) {
+        CollectionMembershipResponse membership = collectionService.patchCollectionPrompts(collectionId, request, principal.getUsername());
+        return ResponseEntity.ok(membership);
     }
 
     @DeleteMapping("/{collectionId}/prompts/{promptId}")
@@ -1,17 +1,24 @@
 package com.promptdex.api.controller;
 
+import com.promptdex.api.dto.BulkBookmarkResponse;
 import com.promptdex.api.dto.CreatePromptRequest;
+import com.promptdex.api.dto.CursorPageDto;
+import com.promptdex.api.dto.PatchPromptTagsRequest;
 import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.PromptSummaryDto;
 import com.promptdex.api.security.UserPrincipal;
 import com.promptdex.api.service.PromptService;
+import com.promptdex.api.util.ETagged;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
@@ -28,7 +35,7 @@ public class PromptController {
     }
 
     @GetMapping
-    public Page<PromptDto> searchPrompts(
+    public Page<PromptSummaryDto> searchPrompts(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) List<String> tags,
             @RequestParam(defaultValue = "0") int page,
@@ -37,15 +44,39 @@ public class PromptController {
         return promptService.searchAndPagePrompts(search, tags, page, size, principal);
     }
 
+    @GetMapping(params = "cursor")
+    public CursorPageDto<PromptSummaryDto> searchPromptsByCursor(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails principal) {
+        return promptService.searchPromptsByCursor(search, tags, cursor, size, principal);
+    }
+
+    @GetMapping("/trending")
+    public List<PromptSummaryDto> getTrendingPrompts(
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserDetails principal) {
+        return promptService.getTrendingPrompts(limit, principal);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PromptDto> getPromptById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal UserDetails principal) {
-        return ResponseEntity.ok(promptService.getPromptById(id, principal));
+            @AuthenticationPrincipal UserDetails principal,
+            WebRequest request) {
+        if (request.checkNotModified(promptService.getPromptETag(id, principal))) {
+            promptService.recordView(id);
+            return null;
+        }
+        ETagged<PromptDto> prompt = promptService.getPromptById(id, principal);
+        CacheControl cacheControl = principal != null ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(prompt.etag()).body(prompt.body());
     }
 
     @GetMapping("/user/{username}")
-    public Page<PromptDto> getPromptsByAuthor(
+    public Page<PromptSummaryDto> getPromptsByAuthor(
             @PathVariable String username,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -53,6 +84,15 @@ public class PromptController {
         return promptService.getPromptsByAuthorUsername(username, page, size, principal);
     }
 
+    @GetMapping(value = "/user/{username}", params = "cursor")
+    public CursorPageDto<PromptSummaryDto> getPromptsByAuthorByCursor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserDetails principal) {
+        return promptService.getPromptsByAuthorUsernameByCursor(username, cursor, size, principal);
+    }
+
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<PromptDto> createPrompt(
@@ -91,6 +131,16 @@ public class PromptController {
         return ResponseEntity.ok(updatedPrompt);
     }
 
+    @PatchMapping("/{id}/tags")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<PromptDto> patchPromptTags(
+            @PathVariable("id") UUID promptId,
+            @RequestBody PatchPromptTagsRequest request,
+            @AuthenticationPrincipal UserDetails principal) throws AccessDeniedException {
+        PromptDto updatedPrompt = promptService.patchPromptTags(promptId, request, principal);
+        return ResponseEntity.ok(updatedPrompt);
+    }
+
     @PostMapping("/{id}/bookmark")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Void> addBookmark(
@@ -109,12 +159,29 @@ public class PromptController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bookmarks")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<BulkBookmarkResponse> addBookmarks(
+            @RequestBody List<UUID> promptIds,
+            @AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(new BulkBookmarkResponse(promptService.addBookmarks(promptIds, principal.getUsername())));
+    }
+
     @GetMapping("/bookmarks")
     @PreAuthorize("isAuthenticated()")
-    public Page<PromptDto> getBookmarkedPrompts(
+    public Page<PromptSummaryDto> getBookmarkedPrompts(
             @AuthenticationPrincipal UserDetails principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         return promptService.getBookmarkedPrompts(principal.getUsername(), page, size);
     }
+
+    @GetMapping(value = "/bookmarks", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    public CursorPageDto<PromptSummaryDto> getBookmarkedPromptsByCursor(
+            @AuthenticationPrincipal UserDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return promptService.getBookmarkedPromptsByCursor(principal.getUsername(), cursor, size);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.promptdex.api.controller;
 
 import com.promptdex.api.dto.CreateReviewRequest;
+import com.promptdex.api.dto.CursorPageDto;
 import com.promptdex.api.dto.ReviewDto;
 import com.promptdex.api.service.ReviewService;
 import jakarta.validation.Valid;
@@ -15,7 +16,6 @@ import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/prompts")
-@PreAuthorize("isAuthenticated()")
 public class ReviewController {
     private final ReviewService reviewService;
 
@@ -23,7 +23,17 @@ public class ReviewController {
         this.reviewService = reviewService;
     }
 
+    @GetMapping("/{promptId}/reviews")
+    public CursorPageDto<ReviewDto> getReviews(
+            @PathVariable UUID promptId,
+            @RequestParam(defaultValue = ReviewService.SORT_NEWEST) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return reviewService.getReviewsForPrompt(promptId, sort, cursor, size);
+    }
+
     @PostMapping("/{promptId}/reviews")
+    @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ReviewDto> createReview(
             @PathVariable UUID promptId,
             @Valid @RequestBody CreateReviewRequest reviewRequest,
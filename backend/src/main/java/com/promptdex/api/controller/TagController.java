@@ -1,10 +1,14 @@
 package com.promptdex.api.controller;
 
+import com.promptdex.api.dto.TagUsageDto;
 import com.promptdex.api.service.TagService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,7 +22,20 @@ public class TagController {
     }
 
     @GetMapping
-    public ResponseEntity<List<String>> getAllTags() {
-        return ResponseEntity.ok(tagService.getAllTagNames());
+    public ResponseEntity<List<String>> getAllTags(WebRequest request) {
+        String etag = tagService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(tagService.getAllTagNames());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/popular")
+    public ResponseEntity<List<TagUsageDto>> getPopularTags(@RequestParam(defaultValue = "20") int limit, WebRequest request) {
+        String etag = tagService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(tagService.getPopularTags(limit));
+    }
+}
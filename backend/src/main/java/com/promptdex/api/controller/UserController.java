@@ -1,15 +1,18 @@
 package com.promptdex.api.controller;
 
+import com.promptdex.api.dto.CursorPageDto;
 import com.promptdex.api.dto.ProfileDto;
-import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.PromptSummaryDto;
 import com.promptdex.api.service.PromptService;
 import com.promptdex.api.service.UserService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
@@ -25,9 +28,15 @@ public class UserController {
     @GetMapping("/{username}/profile")
     public ResponseEntity<ProfileDto> getUserProfile(
             @PathVariable String username,
-            @AuthenticationPrincipal UserDetails principal) {
+            @AuthenticationPrincipal UserDetails principal,
+            WebRequest request) {
+        String etag = userService.getProfileETag(username, principal);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ProfileDto profile = userService.getProfile(username, principal);
-        return ResponseEntity.ok(profile);
+        CacheControl cacheControl = principal != null ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        return ResponseEntity.ok().cacheControl(cacheControl).eTag(etag).body(profile);
     }
 
     @PostMapping("/{username}/follow")
@@ -49,24 +58,44 @@ public class UserController {
     }
 
     @GetMapping("/{username}/prompts")
-    public ResponseEntity<Page<PromptDto>> getPromptsByUser(
+    public ResponseEntity<Page<PromptSummaryDto>> getPromptsByUser(
             @PathVariable String username,
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "9") int size,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
-        Page<PromptDto> promptsPage = promptService.getPromptsByAuthorUsername(username, page, size, userDetails);
+        Page<PromptSummaryDto> promptsPage = promptService.getPromptsByAuthorUsername(username, page, size, userDetails);
         return ResponseEntity.ok(promptsPage);
     }
 
+    @GetMapping(value = "/{username}/prompts", params = "cursor")
+    public ResponseEntity<CursorPageDto<PromptSummaryDto>> getPromptsByUserByCursor(
+            @PathVariable String username,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "9") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(promptService.getPromptsByAuthorUsernameByCursor(username, cursor, size, userDetails));
+    }
+
     @GetMapping("/me/bookmarks")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<PromptDto>> getMyBookmarkedPrompts(
+    public ResponseEntity<Page<PromptSummaryDto>> getMyBookmarkedPrompts(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "9") int size,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
-        Page<PromptDto> promptsPage = promptService.getBookmarkedPrompts(userDetails.getUsername(), page, size);
+        Page<PromptSummaryDto> promptsPage = promptService.getBookmarkedPrompts(userDetails.getUsername(), page, size);
         return ResponseEntity.ok(promptsPage);
     }
+
+    @GetMapping(value = "/me/bookmarks", params = "cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageDto<PromptSummaryDto>> getMyBookmarkedPromptsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "9") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(promptService.getBookmarkedPromptsByCursor(userDetails.getUsername(), cursor, size));
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.promptdex.api.controller.admin;
 
+import com.promptdex.api.dto.CacheRegionStatsDto;
 import com.promptdex.api.dto.StatsDto;
 import com.promptdex.api.service.AdminStatsService;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +9,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin/stats")
 @PreAuthorize("hasRole('ADMIN')")
@@ -23,4 +26,9 @@ public class AdminStatsController {
         StatsDto stats = adminStatsService.getGlobalStats();
         return ResponseEntity.ok(stats);
     }
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheRegionStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(adminStatsService.getCacheStats());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.promptdex.api.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write recently enough that a replica may not have caught up yet.
+ * Registered on the transaction manager, so every committed read-write transaction counts.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration replicaLag) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(replicaLag)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String username = currentUsername();
+            if (username != null) {
+                recentWriters.put(username, Boolean.TRUE);
+            }
+        }
+    }
+
+    public boolean wroteRecently(String username) {
+        return username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
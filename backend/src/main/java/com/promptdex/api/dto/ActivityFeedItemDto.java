@@ -8,6 +8,6 @@ import java.time.Instant;
 public record ActivityFeedItemDto(
         String eventType,
         Instant eventTimestamp,
-        PromptDto prompt
+        PromptSummaryDto prompt
 ) {
 }
\ No newline at end of file
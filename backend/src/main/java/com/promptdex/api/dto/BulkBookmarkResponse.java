@@ -0,0 +1,6 @@
+package com.promptdex.api.dto;
+
+public record BulkBookmarkResponse(
+        int added
+) {
+}
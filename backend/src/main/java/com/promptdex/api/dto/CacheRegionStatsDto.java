@@ -0,0 +1,10 @@
+package com.promptdex.api.dto;
+
+public record CacheRegionStatsDto(
+        String region,
+        long hits,
+        long misses,
+        long puts,
+        double hitRatio
+) {
+}
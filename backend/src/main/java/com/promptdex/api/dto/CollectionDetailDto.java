@@ -1,9 +1,9 @@
 package com.promptdex.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Page;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
 
 public record CollectionDetailDto(
@@ -12,6 +12,7 @@ public record CollectionDetailDto(
         @JsonProperty("description") String description,
         @JsonProperty("createdAt") Instant createdAt,
         @JsonProperty("updatedAt") Instant updatedAt,
-        @JsonProperty("prompts") List<PromptDto> prompts
+        @JsonProperty("promptCount") long promptCount,
+        @JsonProperty("prompts") Page<PromptSummaryDto> prompts
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.promptdex.api.dto;
+
+import java.util.UUID;
+
+public record CollectionMembershipResponse(
+        UUID collectionId,
+        int added,
+        int removed,
+        long promptCount
+) {
+}
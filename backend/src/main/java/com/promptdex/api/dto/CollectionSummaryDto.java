@@ -9,7 +9,7 @@ public record CollectionSummaryDto(
         @JsonProperty("id") UUID id,
         @JsonProperty("name") String name,
         @JsonProperty("description") String description,
-        @JsonProperty("promptCount") int promptCount,
+        @JsonProperty("promptCount") long promptCount,
         @JsonProperty("createdAt") Instant createdAt
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.promptdex.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        @JsonProperty("content") List<T> content,
+        @JsonProperty("size") int size,
+        @JsonProperty("hasNext") boolean hasNext,
+        @JsonProperty("nextCursor") String nextCursor
+) {
+}
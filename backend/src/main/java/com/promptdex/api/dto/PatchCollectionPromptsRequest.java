@@ -0,0 +1,10 @@
+package com.promptdex.api.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record PatchCollectionPromptsRequest(
+        Set<UUID> add,
+        Set<UUID> remove
+) {
+}
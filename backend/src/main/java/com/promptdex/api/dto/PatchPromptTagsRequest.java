@@ -0,0 +1,9 @@
+package com.promptdex.api.dto;
+
+import java.util.Set;
+
+public record PatchPromptTagsRequest(
+        Set<String> add,
+        Set<String> remove
+) {
+}
@@ -2,8 +2,8 @@ package com.promptdex.api.dto;
 
 public record ProfileDto(
         String username,
-        int followerCount,
-        int followingCount,
+        long followerCount,
+        long followingCount,
         boolean isFollowedByCurrentUser
 ) {
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public record PromptDto(
@@ -17,8 +18,17 @@ public record PromptDto(
         @JsonProperty("createdAt") Instant createdAt,
         @JsonProperty("updatedAt") Instant updatedAt,
         @JsonProperty("averageRating") double averageRating,
+        @JsonProperty("ratingCount") long ratingCount,
+        @JsonProperty("ratingHistogram") Map<Integer, Long> ratingHistogram,
+        @JsonProperty("viewCount") long viewCount,
         @JsonProperty("reviews") List<ReviewDto> reviews,
+        @JsonProperty("reviewsNextCursor") String reviewsNextCursor,
         @JsonProperty("tags") List<String> tags,
-        @JsonProperty("isBookmarked") boolean isBookmarked
+        @JsonProperty("isBookmarked") boolean isBookmarked,
+        @JsonProperty("viewerReview") ReviewDto viewerReview
 ) {
+    public PromptDto withViewerState(boolean bookmarked, ReviewDto review) {
+        return new PromptDto(id, title, text, description, model, category, authorUsername, createdAt, updatedAt,
+                averageRating, ratingCount, ratingHistogram, viewCount, reviews, reviewsNextCursor, tags, bookmarked, review);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.promptdex.api.dto;
+
+public record TagUsageDto(
+        String name,
+        long promptCount
+) {
+}
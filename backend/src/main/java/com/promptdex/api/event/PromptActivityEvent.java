@@ -0,0 +1,26 @@
+package com.promptdex.api.event;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PromptActivityEvent(UUID promptId, Type type, Instant occurredAt) {
+    public PromptActivityEvent(UUID promptId, Type type) {
+        this(promptId, type, Instant.now());
+    }
+
+    public enum Type {
+        REVIEW(3),
+        BOOKMARK(2),
+        COLLECTION(1);
+
+        private final int weight;
+
+        Type(int weight) {
+            this.weight = weight;
+        }
+
+        public int weight() {
+            return weight;
+        }
+    }
+}
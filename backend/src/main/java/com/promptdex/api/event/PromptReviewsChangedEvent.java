@@ -0,0 +1,6 @@
+package com.promptdex.api.event;
+
+import java.util.UUID;
+
+public record PromptReviewsChangedEvent(UUID promptId) {
+}
@@ -0,0 +1,36 @@
+package com.promptdex.api.event;
+
+import com.promptdex.api.model.Prompt;
+import com.promptdex.api.model.Tag;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public record PromptSavedEvent(
+        UUID promptId,
+        UUID authorId,
+        String title,
+        String description,
+        String promptText,
+        Set<String> tags,
+        Instant createdAt,
+        boolean created
+) {
+    public static PromptSavedEvent of(Prompt prompt, boolean created) {
+        Set<String> tagNames = prompt.getTags() != null
+                ? prompt.getTags().stream().map(Tag::getName).collect(Collectors.toUnmodifiableSet())
+                : Set.of();
+        return new PromptSavedEvent(
+                prompt.getId(),
+                prompt.getAuthor() != null ? prompt.getAuthor().getId() : null,
+                prompt.getTitle(),
+                prompt.getDescription(),
+                prompt.getPromptText(),
+                tagNames,
+                prompt.getCreatedAt(),
+                created
+        );
+    }
+}
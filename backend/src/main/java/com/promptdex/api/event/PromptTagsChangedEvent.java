@@ -0,0 +1,8 @@
+package com.promptdex.api.event;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public record PromptTagsChangedEvent(UUID promptId, Map<String, UUID> addedTags, Set<String> removedTags) {
+}
@@ -0,0 +1,7 @@
+package com.promptdex.api.event;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserBookmarksChangedEvent(UUID userId, List<UUID> promptIds) {
+}
@@ -1,40 +1,36 @@
 package com.promptdex.api.mapper;
 
+import com.promptdex.api.dto.CursorPageDto;
 import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.PromptSummaryDto;
 import com.promptdex.api.dto.ReviewDto;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.Tag;
-import com.promptdex.api.model.User;
+import com.promptdex.api.repository.PromptSummaryRow;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 public class PromptMapper {
-    public PromptDto toDto(Prompt prompt, User user) {
+    public PromptDto toDto(Prompt prompt, long viewCount, boolean isBookmarked) {
+        return toDto(prompt, viewCount, isBookmarked, null);
+    }
+
+    public PromptDto toDto(Prompt prompt, long viewCount, boolean isBookmarked, CursorPageDto<ReviewDto> firstReviewPage) {
         if (prompt == null) {
             return null;
         }
-        boolean isBookmarked = user != null && user.getBookmarkedPrompts().stream()
-                .anyMatch(bookmarkedPrompt -> bookmarkedPrompt.getId().equals(prompt.getId()));
         List<String> tagNames = prompt.getTags() != null
                 ? prompt.getTags().stream().map(Tag::getName).collect(Collectors.toList())
                 : Collections.emptyList();
-        List<ReviewDto> reviewDtos = prompt.getReviews() != null
-                ? prompt.getReviews().stream().map(review -> new ReviewDto(
-                review.getId(),
-                review.getRating(),
-                review.getComment(),
-                review.getUser().getUsername(),
-                review.getCreatedAt(),
-                review.getUpdatedAt()
-        )).collect(Collectors.toList())
-                : List.of();
-        double averageRating = prompt.getReviews() != null && !prompt.getReviews().isEmpty()
-                ? prompt.getReviews().stream().mapToInt(r -> r.getRating()).average().orElse(0.0)
-                : 0.0;
+        List<ReviewDto> reviewDtos = firstReviewPage != null ? firstReviewPage.content() : List.of();
+        String reviewsNextCursor = firstReviewPage != null ? firstReviewPage.nextCursor() : null;
+        double averageRating = prompt.getAverageRating() != null ? prompt.getAverageRating() : 0.0;
         return new PromptDto(
                 prompt.getId(),
                 prompt.getTitle(),
@@ -46,7 +42,39 @@ public class PromptMapper {
                 prompt.getCreatedAt(),
                 prompt.getUpdatedAt(),
                 averageRating,
+                prompt.getRatingCount(),
+                ratingHistogram(prompt),
+                viewCount,
                 reviewDtos,
+                reviewsNextCursor,
+                tagNames,
+                isBookmarked,
+                null
+        );
+    }
+
+    private Map<Integer, Long> ratingHistogram(Prompt prompt) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, prompt.getRating1());
+        histogram.put(2, prompt.getRating2());
+        histogram.put(3, prompt.getRating3());
+        histogram.put(4, prompt.getRating4());
+        histogram.put(5, prompt.getRating5());
+        return histogram;
+    }
+
+    public PromptSummaryDto toSummaryDto(PromptSummaryRow row, List<String> tagNames, boolean isBookmarked) {
+        return new PromptSummaryDto(
+                row.id(),
+                row.title(),
+                row.description(),
+                row.targetAiModel(),
+                row.category(),
+                row.authorUsername(),
+                row.createdAt(),
+                row.updatedAt(),
+                row.averageRating() != null ? row.averageRating() : 0.0,
+                row.reviewCount(),
                 tagNames,
                 isBookmarked
         );
@@ -6,20 +6,15 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class UserMapper {
-    public ProfileDto toProfileDto(User targetUser, User currentUser) {
+    public ProfileDto toProfileDto(User targetUser, boolean isFollowed) {
         if (targetUser == null) {
             return null;
         }
-        boolean isFollowed = false;
-        if (currentUser != null && currentUser.getFollowing() != null) {
-            isFollowed = currentUser.getFollowing().stream()
-                    .anyMatch(followedUser -> followedUser.getId().equals(targetUser.getId()));
-        }
         return new ProfileDto(
                 targetUser.getUsername(),
-                targetUser.getFollowers() != null ? targetUser.getFollowers().size() : 0,
-                targetUser.getFollowing() != null ? targetUser.getFollowing().size() : 0,
+                targetUser.getFollowersCount(),
+                targetUser.getFollowingCount(),
                 isFollowed
         );
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -21,7 +22,7 @@ import java.util.UUID;
 @EqualsAndHashCode(exclude = {"owner", "prompts"})
 public class Collection {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     @Column(nullable = false)
     private String name;
@@ -43,6 +44,9 @@ public class Collection {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+    @ColumnDefault("0")
+    @Column(name = "content_version", nullable = false, insertable = false, updatable = false)
+    private long contentVersion;
 
     public Collection(String name, String description, User owner) {
         this.name = name;
@@ -0,0 +1,40 @@
+package com.promptdex.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "feed_entries", indexes = {
+        @Index(name = "idx_feed_entries_user_created", columnList = "user_id, created_at, prompt_id"),
+        @Index(name = "idx_feed_entries_prompt", columnList = "prompt_id")
+})
+@IdClass(FeedEntry.Key.class)
+public class FeedEntry {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    @Id
+    @Column(name = "prompt_id")
+    private UUID promptId;
+    @Column(name = "author_id", nullable = false)
+    private UUID authorId;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID promptId;
+    }
+}
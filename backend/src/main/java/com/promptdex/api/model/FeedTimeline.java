@@ -0,0 +1,25 @@
+package com.promptdex.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "feed_timelines")
+public class FeedTimeline {
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+    @Column(name = "materialized_at", nullable = false)
+    private Instant materializedAt;
+}
@@ -6,8 +6,12 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -19,11 +23,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Table(name = "prompts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EqualsAndHashCode(exclude = {"bookmarkedByUsers", "tags", "collections", "reviews"})
 @ToString(exclude = {"bookmarkedByUsers", "tags", "collections", "reviews"})
 public class Prompt {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     @Column(nullable = false)
     private String title;
@@ -35,8 +40,29 @@ public class Prompt {
     private String targetAiModel;
     @Column(nullable = false)
     private String category;
-    @Column(name = "average_rating")
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
+    @ColumnDefault("0")
+    @Column(name = "rating_count", nullable = false, updatable = false)
+    private long ratingCount;
+    @ColumnDefault("0")
+    @Column(name = "rating_1", nullable = false, updatable = false)
+    private long rating1;
+    @ColumnDefault("0")
+    @Column(name = "rating_2", nullable = false, updatable = false)
+    private long rating2;
+    @ColumnDefault("0")
+    @Column(name = "rating_3", nullable = false, updatable = false)
+    private long rating3;
+    @ColumnDefault("0")
+    @Column(name = "rating_4", nullable = false, updatable = false)
+    private long rating4;
+    @ColumnDefault("0")
+    @Column(name = "rating_5", nullable = false, updatable = false)
+    private long rating5;
     @Column(name = "created_at", updatable = false, nullable = false)
     private Instant createdAt;
     @Column(name = "updated_at", nullable = false)
@@ -54,6 +80,7 @@ public class Prompt {
     @ManyToMany(mappedBy = "bookmarkedPrompts", fetch = FetchType.LAZY)
     private Set<User> bookmarkedByUsers = new HashSet<>();
     @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
             name = "prompt_tags",
             joinColumns = @JoinColumn(name = "prompt_id"),
@@ -65,7 +92,7 @@ public class Prompt {
 
     @PrePersist
     protected void onCreate() {
-        Instant now = Instant.now();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
         if (this.createdAt == null) {
             this.createdAt = now;
         }
@@ -76,7 +103,7 @@ public class Prompt {
 
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = Instant.now();
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     @PreRemove
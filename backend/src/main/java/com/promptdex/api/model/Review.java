@@ -17,7 +17,7 @@ import java.util.UUID;
 @Table(name = "reviews")
 public class Review {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     @Column(nullable = false)
     private int rating;
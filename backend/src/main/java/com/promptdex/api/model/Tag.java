@@ -2,6 +2,9 @@ package com.promptdex.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -13,11 +16,13 @@ import java.util.UUID;
 @Builder
 @Entity
 @Table(name = "tags")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @EqualsAndHashCode(exclude = "prompts")
 @ToString(exclude = "prompts")
 public class Tag {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     @Column(unique = true, nullable = false, length = 50)
     private String name;
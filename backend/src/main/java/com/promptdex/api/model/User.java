@@ -6,6 +6,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -19,7 +22,7 @@ import java.util.UUID;
 @ToString(exclude = {"bookmarkedPrompts", "collections", "following", "followers", "roles"})
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     @Column(nullable = false, unique = true)
     private String username;
@@ -31,6 +34,12 @@ public class User {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, columnDefinition = "VARCHAR(255) DEFAULT 'LOCAL'")
     private AuthProvider provider;
+    @ColumnDefault("0")
+    @Column(name = "followers_count", nullable = false, updatable = false)
+    private long followersCount;
+    @ColumnDefault("0")
+    @Column(name = "following_count", nullable = false, updatable = false)
+    private long followingCount;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_bookmarks",
@@ -55,17 +64,8 @@ public class User {
     @ManyToMany(mappedBy = "following", fetch = FetchType.LAZY)
     private Set<User> followers = new HashSet<>();
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role_name", nullable = false)
     private Set<String> roles = new HashSet<>();
-
-    public void follow(User userToFollow) {
-        this.following.add(userToFollow);
-        userToFollow.getFollowers().add(this);
-    }
-
-    public void unfollow(User userToUnfollow) {
-        this.following.remove(userToUnfollow);
-        userToUnfollow.getFollowers().remove(this);
-    }
 }
\ No newline at end of file
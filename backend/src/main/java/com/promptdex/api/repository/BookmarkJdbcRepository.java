@@ -0,0 +1,38 @@
+package com.promptdex.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bookmark inserts that tolerate a concurrent insert of the same bookmark. Rows are only written for prompts
+ * that exist, so bulk requests can name deleted prompts without failing on the foreign key.
+ */
+@Repository
+public class BookmarkJdbcRepository {
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO user_bookmarks (user_id, prompt_id) " +
+            "SELECT ?, p.id FROM prompts p WHERE p.id = ? ON CONFLICT (user_id, prompt_id) DO NOTHING";
+    private static final String STANDARD_INSERT_SQL = "MERGE INTO user_bookmarks b " +
+            "USING (SELECT CAST(? AS UUID) AS user_id, p.id AS prompt_id FROM prompts p WHERE p.id = CAST(? AS UUID)) AS s " +
+            "ON b.user_id = s.user_id AND b.prompt_id = s.prompt_id " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, prompt_id) VALUES (s.user_id, s.prompt_id)";
+    private final ConflictIgnoringInsert insert;
+
+    public BookmarkJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.insert = new ConflictIgnoringInsert(jdbcTemplate, POSTGRES_INSERT_SQL, STANDARD_INSERT_SQL);
+    }
+
+    public boolean insertBookmark(UUID userId, UUID promptId) {
+        return !insertBookmarks(userId, List.of(promptId)).isEmpty();
+    }
+
+    /**
+     * Returns the ids of the prompts that were newly bookmarked.
+     */
+    public List<UUID> insertBookmarks(UUID userId, Collection<UUID> promptIds) {
+        return insert.insertedKeys(promptIds.stream().distinct().sorted().toList(), promptId -> new Object[]{userId, promptId});
+    }
+}
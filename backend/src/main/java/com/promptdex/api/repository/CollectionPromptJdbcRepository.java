@@ -0,0 +1,38 @@
+package com.promptdex.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Collection membership inserts that tolerate a concurrent insert of the same member. Rows are only written
+ * for prompts that exist, so bulk requests can name deleted prompts without failing on the foreign key.
+ */
+@Repository
+public class CollectionPromptJdbcRepository {
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO collection_prompts (collection_id, prompt_id) " +
+            "SELECT ?, p.id FROM prompts p WHERE p.id = ? ON CONFLICT (collection_id, prompt_id) DO NOTHING";
+    private static final String STANDARD_INSERT_SQL = "MERGE INTO collection_prompts cp " +
+            "USING (SELECT CAST(? AS UUID) AS collection_id, p.id AS prompt_id FROM prompts p WHERE p.id = CAST(? AS UUID)) AS s " +
+            "ON cp.collection_id = s.collection_id AND cp.prompt_id = s.prompt_id " +
+            "WHEN NOT MATCHED THEN INSERT (collection_id, prompt_id) VALUES (s.collection_id, s.prompt_id)";
+    private final ConflictIgnoringInsert insert;
+
+    public CollectionPromptJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.insert = new ConflictIgnoringInsert(jdbcTemplate, POSTGRES_INSERT_SQL, STANDARD_INSERT_SQL);
+    }
+
+    public boolean insertPrompt(UUID collectionId, UUID promptId) {
+        return !insertPrompts(collectionId, List.of(promptId)).isEmpty();
+    }
+
+    /**
+     * Returns the ids of the prompts that were newly added.
+     */
+    public List<UUID> insertPrompts(UUID collectionId, Collection<UUID> promptIds) {
+        return insert.insertedKeys(promptIds.stream().distinct().sorted().toList(), promptId -> new Object[]{collectionId, promptId});
+    }
+}
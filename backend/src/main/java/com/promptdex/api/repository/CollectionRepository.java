@@ -1,23 +1,72 @@
 package com.promptdex.api.repository;
 
+import com.promptdex.api.dto.CollectionSummaryDto;
 import com.promptdex.api.model.Collection;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface CollectionRepository extends JpaRepository<Collection, UUID> {
     Optional<Collection> findByIdAndOwner_Username(UUID id, String username);
 
-    List<Collection> findByOwner_UsernameOrderByNameAsc(String username);
+    boolean existsByIdAndOwner_Username(UUID id, String username);
+
+    @Query("SELECT new com.promptdex.api.dto.CollectionSummaryDto(c.id, c.name, c.description, COUNT(p), c.createdAt) " +
+            "FROM Collection c LEFT JOIN c.prompts p WHERE c.owner.username = :username " +
+            "GROUP BY c.id, c.name, c.description, c.createdAt ORDER BY c.name ASC")
+    List<CollectionSummaryDto> findSummariesByOwnerUsername(@Param("username") String username);
+
+    @Query("SELECT new com.promptdex.api.dto.CollectionSummaryDto(c.id, c.name, c.description, COUNT(p), c.createdAt) " +
+            "FROM Collection c LEFT JOIN c.prompts p WHERE c.id = :id " +
+            "GROUP BY c.id, c.name, c.description, c.createdAt")
+    Optional<CollectionSummaryDto> findSummaryById(@Param("id") UUID id);
 
     boolean existsByNameAndOwner_Id(String name, UUID ownerId);
 
-    @Query("SELECT c FROM Collection c LEFT JOIN FETCH c.prompts WHERE c.id = :id")
-    Optional<Collection> findByIdWithPrompts(@Param("id") UUID id);
+    @Query("SELECT new com.promptdex.api.repository.CollectionVersionRow(c.updatedAt, c.contentVersion) " +
+            "FROM Collection c WHERE c.id = :id AND c.owner.username = :username")
+    Optional<CollectionVersionRow> findVersionByIdAndOwnerUsername(@Param("id") UUID id, @Param("username") String username);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Collection c SET c.updatedAt = :updatedAt, c.contentVersion = c.contentVersion + 1 WHERE c.id = :id")
+    int touchUpdatedAt(@Param("id") UUID id, @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "collections"))
+    @Query(value = "UPDATE collections SET content_version = content_version + 1 " +
+            "WHERE id IN (SELECT cp.collection_id FROM collection_prompts cp WHERE cp.prompt_id = :promptId)",
+            nativeQuery = true)
+    int bumpContentVersionByPromptId(@Param("promptId") UUID promptId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "collections"))
+    @Query(value = "UPDATE collections SET content_version = content_version + 1 WHERE owner_id = :ownerId " +
+            "AND id IN (SELECT cp.collection_id FROM collection_prompts cp WHERE cp.prompt_id IN (:promptIds))",
+            nativeQuery = true)
+    int bumpContentVersionByOwnerIdAndPromptIds(@Param("ownerId") UUID ownerId, @Param("promptIds") java.util.Collection<UUID> promptIds);
+
+    @Query(value = "SELECT COUNT(*) FROM collection_prompts WHERE collection_id = :collectionId", nativeQuery = true)
+    long countPrompts(@Param("collectionId") UUID collectionId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "collection_prompts"))
+    @Query(value = "DELETE FROM collection_prompts WHERE collection_id = :collectionId AND prompt_id = :promptId", nativeQuery = true)
+    int deletePrompt(@Param("collectionId") UUID collectionId, @Param("promptId") UUID promptId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "collection_prompts"))
+    @Query(value = "DELETE FROM collection_prompts WHERE collection_id = :collectionId AND prompt_id IN (:promptIds)", nativeQuery = true)
+    int deletePrompts(@Param("collectionId") UUID collectionId, @Param("promptIds") java.util.Collection<UUID> promptIds);
 }
\ No newline at end of file
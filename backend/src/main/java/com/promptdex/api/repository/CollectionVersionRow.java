@@ -0,0 +1,9 @@
+package com.promptdex.api.repository;
+
+import java.time.Instant;
+
+public record CollectionVersionRow(
+        Instant updatedAt,
+        long contentVersion
+) {
+}
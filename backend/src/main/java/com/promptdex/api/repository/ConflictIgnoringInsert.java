@@ -0,0 +1,92 @@
+package com.promptdex.api.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A batched insert that skips rows whose key already exists. PostgreSQL gets {@code ON CONFLICT DO NOTHING},
+ * which also waits out a concurrent insert of the same key; other databases get the equivalent {@code MERGE},
+ * where a concurrent insert can still slip in between the match and the insert and is then counted as present.
+ */
+final class ConflictIgnoringInsert {
+    private static final String UNIQUE_VIOLATION = "23505";
+    private final JdbcTemplate jdbcTemplate;
+    private final String postgresSql;
+    private final String standardSql;
+    private volatile String sql;
+
+    ConflictIgnoringInsert(JdbcTemplate jdbcTemplate, String postgresSql, String standardSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgresSql = postgresSql;
+        this.standardSql = standardSql;
+    }
+
+    /**
+     * Returns the number of rows inserted for each argument row, 0 where the row already existed.
+     */
+    int[] execute(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.execute(sql(), (PreparedStatementCallback<int[]>) statement -> {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    StatementCreatorUtils.setParameterValue(statement, i + 1, SqlTypeValue.TYPE_UNKNOWN, row[i]);
+                }
+                statement.addBatch();
+            }
+            try {
+                return statement.executeBatch();
+            } catch (BatchUpdateException ex) {
+                int[] counts = ex.getUpdateCounts();
+                if (counts.length != rows.size() || !onlyUniqueViolations(ex)) {
+                    throw ex;
+                }
+                return Arrays.stream(counts).map(count -> Math.max(count, 0)).toArray();
+            }
+        });
+    }
+
+    /**
+     * Runs one row per key and returns the keys whose row was newly inserted, in the order given.
+     */
+    <K> List<K> insertedKeys(List<K> keys, Function<K, Object[]> toRow) {
+        int[] inserted = execute(keys.stream().map(toRow).toList());
+        List<K> insertedKeys = new ArrayList<>();
+        for (int i = 0; i < inserted.length; i++) {
+            if (inserted[i] > 0) {
+                insertedKeys.add(keys.get(i));
+            }
+        }
+        return insertedKeys;
+    }
+
+    private static boolean onlyUniqueViolations(BatchUpdateException ex) {
+        for (SQLException cause = ex.getNextException(); cause != null; cause = cause.getNextException()) {
+            if (!UNIQUE_VIOLATION.equals(cause.getSQLState())) {
+                return false;
+            }
+        }
+        return UNIQUE_VIOLATION.equals(ex.getSQLState());
+    }
+
+    private String sql() {
+        String resolved = sql;
+        if (resolved == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            resolved = "PostgreSQL".equalsIgnoreCase(product) ? postgresSql : standardSql;
+            sql = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,65 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.FeedEntry;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface FeedEntryRepository extends JpaRepository<FeedEntry, FeedEntry.Key> {
+    @Query(value = "SELECT e.promptId FROM FeedEntry e WHERE e.userId = :userId ORDER BY e.createdAt DESC, e.promptId DESC",
+            countQuery = "SELECT COUNT(e) FROM FeedEntry e WHERE e.userId = :userId")
+    Page<UUID> findPromptIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "INSERT INTO feed_entries (user_id, prompt_id, author_id, created_at) " +
+            "SELECT :userId, p.id, p.author_id, p.created_at FROM prompts p " +
+            "WHERE p.author_id IN (SELECT f.followed_id FROM user_follows f WHERE f.user_id = :userId) " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT :capacity", nativeQuery = true)
+    int materializeTimeline(@Param("userId") UUID userId, @Param("capacity") int capacity);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "INSERT INTO feed_entries (user_id, prompt_id, author_id, created_at) " +
+            "SELECT f.user_id, :promptId, :authorId, :createdAt FROM user_follows f " +
+            "JOIN feed_timelines t ON t.user_id = f.user_id " +
+            "WHERE f.followed_id = :authorId", nativeQuery = true)
+    int fanOutPrompt(@Param("promptId") UUID promptId, @Param("authorId") UUID authorId, @Param("createdAt") Instant createdAt);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "INSERT INTO feed_entries (user_id, prompt_id, author_id, created_at) " +
+            "SELECT t.user_id, p.id, p.author_id, p.created_at FROM feed_timelines t, prompts p " +
+            "WHERE t.user_id = :userId AND p.author_id = :authorId " +
+            "AND NOT EXISTS (SELECT 1 FROM feed_entries e WHERE e.user_id = t.user_id AND e.prompt_id = p.id) " +
+            "ORDER BY p.created_at DESC, p.id DESC LIMIT :capacity", nativeQuery = true)
+    int backfillAuthor(@Param("userId") UUID userId, @Param("authorId") UUID authorId, @Param("capacity") int capacity);
+
+    @Modifying
+    @Query("DELETE FROM FeedEntry e WHERE e.userId = :userId AND e.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(@Param("userId") UUID userId, @Param("authorId") UUID authorId);
+
+    @Modifying
+    @Query("DELETE FROM FeedEntry e WHERE e.promptId = :promptId")
+    int deleteByPromptId(@Param("promptId") UUID promptId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "feed_entries"))
+    @Query(value = "DELETE FROM feed_entries WHERE (user_id, prompt_id) IN (" +
+            "SELECT ranked.user_id, ranked.prompt_id FROM (" +
+            "SELECT e.user_id, e.prompt_id, ROW_NUMBER() OVER (PARTITION BY e.user_id ORDER BY e.created_at DESC, e.prompt_id DESC) AS position " +
+            "FROM feed_entries e) ranked WHERE ranked.position > :capacity)", nativeQuery = true)
+    int trimTimelines(@Param("capacity") int capacity);
+}
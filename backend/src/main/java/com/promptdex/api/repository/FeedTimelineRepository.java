@@ -0,0 +1,24 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.FeedTimeline;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface FeedTimelineRepository extends JpaRepository<FeedTimeline, UUID> {
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "feed_timelines"))
+    @Query(value = "INSERT INTO feed_timelines (user_id, materialized_at) SELECT :userId, :materializedAt " +
+            "WHERE NOT EXISTS (SELECT 1 FROM feed_timelines t WHERE t.user_id = :userId)", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("materializedAt") Instant materializedAt);
+}
@@ -0,0 +1,30 @@
+package com.promptdex.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Follow inserts that tolerate a concurrent insert of the same follow, reporting whether a row was
+ * actually written so the denormalized counters are only moved once.
+ */
+@Repository
+public class FollowJdbcRepository {
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO user_follows (user_id, followed_id) VALUES (?, ?) " +
+            "ON CONFLICT (user_id, followed_id) DO NOTHING";
+    private static final String STANDARD_INSERT_SQL = "MERGE INTO user_follows f " +
+            "USING (VALUES (CAST(? AS UUID), CAST(? AS UUID))) AS s (user_id, followed_id) " +
+            "ON f.user_id = s.user_id AND f.followed_id = s.followed_id " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, followed_id) VALUES (s.user_id, s.followed_id)";
+    private final ConflictIgnoringInsert insert;
+
+    public FollowJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.insert = new ConflictIgnoringInsert(jdbcTemplate, POSTGRES_INSERT_SQL, STANDARD_INSERT_SQL);
+    }
+
+    public boolean insertFollow(UUID followerId, UUID followedId) {
+        return insert.execute(List.<Object[]>of(new Object[]{followerId, followedId}))[0] > 0;
+    }
+}
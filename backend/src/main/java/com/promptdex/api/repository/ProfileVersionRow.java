@@ -0,0 +1,10 @@
+package com.promptdex.api.repository;
+
+import java.util.UUID;
+
+public record ProfileVersionRow(
+        UUID id,
+        long followersCount,
+        long followingCount
+) {
+}
@@ -0,0 +1,79 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.Prompt;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Counter and version writes on a single prompt row. An HQL or native bulk update would drop the
+ * whole Prompt cache region, so these go over JDBC and evict only the prompt they touch.
+ */
+@Repository
+public class PromptJdbcRepository {
+    private static final String TOUCH_SQL = "UPDATE prompts SET updated_at = ? WHERE id = ?";
+    private static final String RATING_SQL = "UPDATE prompts SET " +
+            "rating_sum = rating_sum + ?, " +
+            "rating_count = rating_count + ?, " +
+            "rating_1 = rating_1 + ?, " +
+            "rating_2 = rating_2 + ?, " +
+            "rating_3 = rating_3 + ?, " +
+            "rating_4 = rating_4 + ?, " +
+            "rating_5 = rating_5 + ?, " +
+            "average_rating = CASE WHEN rating_count + ? > 0 " +
+            "THEN CAST(rating_sum + ? AS DOUBLE PRECISION) / (rating_count + ?) ELSE NULL END " +
+            "WHERE id = ?";
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PromptJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void touchUpdatedAt(UUID promptId, Instant updatedAt) {
+        jdbcTemplate.update(TOUCH_SQL, OffsetDateTime.ofInstant(updatedAt, ZoneOffset.UTC), promptId);
+        evictCachedPrompt(promptId);
+    }
+
+    public void applyRatingChange(UUID promptId, int addedRating, int removedRating) {
+        long[] histogramDelta = new long[6];
+        if (addedRating > 0) {
+            histogramDelta[addedRating]++;
+        }
+        if (removedRating > 0) {
+            histogramDelta[removedRating]--;
+        }
+        long sumDelta = addedRating - removedRating;
+        long countDelta = (addedRating > 0 ? 1 : 0) - (removedRating > 0 ? 1 : 0);
+        jdbcTemplate.update(RATING_SQL, sumDelta, countDelta,
+                histogramDelta[1], histogramDelta[2], histogramDelta[3], histogramDelta[4], histogramDelta[5],
+                countDelta, sumDelta, countDelta, promptId);
+        evictCachedPrompt(promptId);
+    }
+
+    /**
+     * Evicted once now for the rest of this transaction, and again after completion in case a
+     * concurrent reader re-cached the old row in between.
+     */
+    private void evictCachedPrompt(UUID promptId) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Prompt.class, promptId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Prompt.class, promptId);
+                }
+            });
+        }
+    }
+}
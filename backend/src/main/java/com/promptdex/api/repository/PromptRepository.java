@@ -1,77 +1,183 @@
 package com.promptdex.api.repository;
 
 import com.promptdex.api.model.Prompt;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface PromptRepository extends JpaRepository<Prompt, UUID> {
-    @Query(value = "SELECT DISTINCT p FROM Prompt p " +
-            "LEFT JOIN FETCH p.author " +
-            "LEFT JOIN FETCH p.tags t WHERE " +
-            "(:searchTerm IS NULL OR :searchTerm = '' OR " +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "(:tags IS NULL OR t.name IN :tags)",
-            countQuery = "SELECT COUNT(DISTINCT p) FROM Prompt p LEFT JOIN p.tags t WHERE " +
-                    "(:searchTerm IS NULL OR :searchTerm = '' OR " +
-                    "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-                    "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-                    "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-                    "(:tags IS NULL OR t.name IN :tags)")
-    Page<Prompt> searchAndPagePrompts(
-            @Param("searchTerm") String searchTerm,
-            @Param("tags") List<String> tags,
-            Pageable pageable
-    );
+    @Query(value = "SELECT p.id FROM Prompt p WHERE p.author.username = :username",
+            countQuery = "SELECT COUNT(p) FROM Prompt p WHERE p.author.username = :username")
+    Page<UUID> findIdsByAuthorUsername(@Param("username") String username, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Prompt p JOIN p.bookmarkedByUsers u WHERE u.username = :username",
+            countQuery = "SELECT COUNT(p) FROM Prompt p JOIN p.bookmarkedByUsers u WHERE u.username = :username")
+    Page<UUID> findBookmarkedIdsByUsername(@Param("username") String username, Pageable pageable);
 
-    @Query("SELECT p FROM Prompt p LEFT JOIN FETCH p.author WHERE p.author.username = :username")
-    Page<Prompt> findByAuthor_Username(@Param("username") String username, Pageable pageable);
+    @Query(value = "SELECT p.id FROM Prompt p JOIN p.collections c WHERE c.id = :collectionId",
+            countQuery = "SELECT COUNT(p) FROM Prompt p JOIN p.collections c WHERE c.id = :collectionId")
+    Page<UUID> findIdsByCollectionId(@Param("collectionId") UUID collectionId, Pageable pageable);
 
-    @Query("SELECT p FROM Prompt p LEFT JOIN FETCH p.author JOIN p.bookmarkedByUsers u WHERE u.username = :username")
-    Page<Prompt> findByBookmarkedByUsers_Username(@Param("username") String username, Pageable pageable);
+    @Query("SELECT new com.promptdex.api.repository.PromptSummaryRow(" +
+            "p.id, p.title, p.description, p.targetAiModel, p.category, a.username, p.createdAt, p.updatedAt, p.averageRating, " +
+            "p.ratingCount) " +
+            "FROM Prompt p JOIN p.author a WHERE p.id IN :promptIds")
+    List<PromptSummaryRow> findSummaryRowsByIdIn(@Param("promptIds") List<UUID> promptIds);
 
-    @Query("SELECT p FROM Prompt p LEFT JOIN FETCH p.author WHERE p.author.id IN :authorIds ORDER BY p.createdAt DESC")
-    Page<Prompt> findByAuthor_IdInOrderByCreatedAtDesc(@Param("authorIds") List<UUID> authorIds, Pageable pageable);
+    @Query("SELECT p.id, t.name FROM Prompt p JOIN p.tags t WHERE p.id IN :promptIds ORDER BY t.name")
+    List<Object[]> findTagNamesByPromptIdIn(@Param("promptIds") List<UUID> promptIds);
 
     @Query("SELECT p FROM Prompt p LEFT JOIN FETCH p.author LEFT JOIN FETCH p.tags WHERE p.id = :promptId")
     Optional<Prompt> findByIdWithAuthorAndTags(@Param("promptId") UUID promptId);
 
-    @Query(value = "SELECT DISTINCT p FROM Prompt p LEFT JOIN FETCH p.author LEFT JOIN FETCH p.tags",
-            countQuery = "SELECT COUNT(DISTINCT p) FROM Prompt p")
-    Page<Prompt> findAllWithAuthorAndTags(Pageable pageable);
+    @Query("SELECT p.author.id FROM Prompt p WHERE p.id = :promptId")
+    Optional<UUID> findAuthorIdById(@Param("promptId") UUID promptId);
+
+    @Query("SELECT new com.promptdex.api.repository.PromptVersionRow(p.updatedAt, p.ratingCount, p.ratingSum, " +
+            "(SELECT MAX(r.updatedAt) FROM Review r WHERE r.prompt.id = p.id)) FROM Prompt p WHERE p.id = :promptId")
+    Optional<PromptVersionRow> findVersionById(@Param("promptId") UUID promptId);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.prompt.id = :promptId")
-    Optional<Double> findAverageRatingByPromptId(@Param("promptId") UUID promptId);
+    @Query(value = "SELECT view_count FROM prompts WHERE id = :promptId", nativeQuery = true)
+    Optional<Long> findViewCountById(@Param("promptId") UUID promptId);
 
-    @Query(value = "SELECT DISTINCT p FROM Prompt p " +
-            "LEFT JOIN FETCH p.author a " +
-            "LEFT JOIN FETCH p.tags t " +
+    @Query(value = "SELECT id, view_count FROM prompts WHERE id IN (:promptIds)", nativeQuery = true)
+    List<Object[]> findViewCountRows(@Param("promptIds") List<UUID> promptIds);
+
+    /**
+     * View counts are not mapped on {@link Prompt}: they are flushed in batches over JDBC, and keeping them
+     * out of the cached entity means those flushes never have to evict it.
+     */
+    default Map<UUID, Long> findViewCountsByIds(List<UUID> promptIds) {
+        Map<UUID, Long> viewCounts = new HashMap<>();
+        if (!promptIds.isEmpty()) {
+            for (Object[] row : findViewCountRows(promptIds)) {
+                viewCounts.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return viewCounts;
+    }
+
+    @Query(value = "SELECT p.id FROM Prompt p LEFT JOIN p.author a " +
             "WHERE (:searchTerm IS NULL OR :searchTerm = '' OR " +
             "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(p.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(a.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
-            countQuery = "SELECT COUNT(DISTINCT p) FROM Prompt p " +
-                    "LEFT JOIN p.author a " +
-                    "LEFT JOIN p.tags t " +
+            "EXISTS (SELECT 1 FROM Prompt tp JOIN tp.tags t WHERE tp = p AND LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))))",
+            countQuery = "SELECT COUNT(p) FROM Prompt p LEFT JOIN p.author a " +
                     "WHERE (:searchTerm IS NULL OR :searchTerm = '' OR " +
                     "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
                     "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
                     "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
                     "LOWER(p.category) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
                     "LOWER(a.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-                    "LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Prompt> findAllAdminSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
-}
\ No newline at end of file
+                    "EXISTS (SELECT 1 FROM Prompt tp JOIN tp.tags t WHERE tp = p AND LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))))")
+    Page<UUID> findAdminSearchPromptIds(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    default Page<Prompt> findAllAdminSearch(String searchTerm, Pageable pageable) {
+        return fetchPageWithAuthorAndTags(findAdminSearchPromptIds(searchTerm, pageable));
+    }
+
+    @Query(value = "SELECT p.id FROM Prompt p", countQuery = "SELECT COUNT(p) FROM Prompt p")
+    Page<UUID> findAllPromptIds(Pageable pageable);
+
+    default Page<Prompt> findAllWithAuthorAndTags(Pageable pageable) {
+        return fetchPageWithAuthorAndTags(findAllPromptIds(pageable));
+    }
+
+    @Query(value = "SELECT p.id FROM Prompt p WHERE " +
+            "(:searchTerm IS NULL OR :searchTerm = '' OR " +
+            "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+            "(:tags IS NULL OR EXISTS (SELECT 1 FROM Prompt tp JOIN tp.tags t WHERE tp = p AND t.name IN :tags))",
+            countQuery = "SELECT COUNT(p) FROM Prompt p WHERE " +
+                    "(:searchTerm IS NULL OR :searchTerm = '' OR " +
+                    "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                    "LOWER(p.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                    "LOWER(p.promptText) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+                    "(:tags IS NULL OR EXISTS (SELECT 1 FROM Prompt tp JOIN tp.tags t WHERE tp = p AND t.name IN :tags))")
+    Page<UUID> searchPromptIds(
+            @Param("searchTerm") String searchTerm,
+            @Param("tags") List<String> tags,
+            Pageable pageable
+    );
+
+    @Query("SELECT DISTINCT p FROM Prompt p LEFT JOIN FETCH p.author LEFT JOIN FETCH p.tags WHERE p.id IN :promptIds")
+    List<Prompt> findAllWithAuthorAndTagsByIdIn(@Param("promptIds") List<UUID> promptIds);
+
+    private Page<Prompt> fetchPageWithAuthorAndTags(Page<UUID> idPage) {
+        List<UUID> promptIds = idPage.getContent();
+        if (promptIds.isEmpty()) {
+            return new PageImpl<>(List.of(), idPage.getPageable(), idPage.getTotalElements());
+        }
+        Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < promptIds.size(); i++) {
+            positions.put(promptIds.get(i), i);
+        }
+        List<Prompt> prompts = findAllWithAuthorAndTagsByIdIn(promptIds).stream()
+                .sorted(Comparator.comparing(prompt -> positions.get(prompt.getId())))
+                .toList();
+        return new PageImpl<>(prompts, idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, p.title, p.description, p.promptText, p.createdAt FROM Prompt p")
+    Stream<Object[]> streamSearchDocuments();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p.id, t.name FROM Prompt p JOIN p.tags t")
+    Stream<Object[]> streamPromptTagNames();
+
+    @Query("SELECT p.id FROM Prompt p WHERE " +
+            "(:tags IS NULL OR EXISTS (SELECT 1 FROM Prompt tp JOIN tp.tags t WHERE tp = p AND t.name IN :tags)) AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<UUID> findKeysetPage(
+            @Param("tags") List<String> tags,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p.id FROM Prompt p WHERE p.author.username = :username AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<UUID> findKeysetPageByAuthorUsername(
+            @Param("username") String username,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("SELECT p.id FROM Prompt p JOIN p.bookmarkedByUsers u WHERE u.username = :username AND " +
+            "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<UUID> findKeysetPageBookmarkedBy(
+            @Param("username") String username,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+}
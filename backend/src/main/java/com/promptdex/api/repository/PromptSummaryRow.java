@@ -0,0 +1,18 @@
+package com.promptdex.api.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PromptSummaryRow(
+        UUID id,
+        String title,
+        String description,
+        String targetAiModel,
+        String category,
+        String authorUsername,
+        Instant createdAt,
+        Instant updatedAt,
+        Double averageRating,
+        long reviewCount
+) {
+}
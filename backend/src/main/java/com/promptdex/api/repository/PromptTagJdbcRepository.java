@@ -0,0 +1,78 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.Prompt;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class PromptTagJdbcRepository {
+    private static final String SELECT_TAGS_SQL = "SELECT t.id, t.name FROM prompt_tags pt JOIN tags t ON t.id = pt.tag_id WHERE pt.prompt_id = ?";
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO prompt_tags (prompt_id, tag_id) VALUES (?, ?) " +
+            "ON CONFLICT (prompt_id, tag_id) DO NOTHING";
+    private static final String STANDARD_INSERT_SQL = "MERGE INTO prompt_tags pt " +
+            "USING (VALUES (CAST(? AS UUID), CAST(? AS UUID))) AS s (prompt_id, tag_id) " +
+            "ON pt.prompt_id = s.prompt_id AND pt.tag_id = s.tag_id " +
+            "WHEN NOT MATCHED THEN INSERT (prompt_id, tag_id) VALUES (s.prompt_id, s.tag_id)";
+    private static final String DELETE_SQL = "DELETE FROM prompt_tags WHERE prompt_id = ? AND tag_id = ?";
+    private static final String TAGS_CACHE_ROLE = Prompt.class.getName() + ".tags";
+    private final JdbcTemplate jdbcTemplate;
+    private final ConflictIgnoringInsert insert;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PromptTagJdbcRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insert = new ConflictIgnoringInsert(jdbcTemplate, POSTGRES_INSERT_SQL, STANDARD_INSERT_SQL);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Map<String, UUID> findTagIds(UUID promptId) {
+        Map<String, UUID> tagIds = new HashMap<>();
+        jdbcTemplate.query(SELECT_TAGS_SQL, rs -> {
+            tagIds.put(rs.getString("name"), rs.getObject("id", UUID.class));
+        }, promptId);
+        return tagIds;
+    }
+
+    public void insert(UUID promptId, Collection<UUID> tagIds) {
+        if (!tagIds.isEmpty()) {
+            insert.execute(tagIds.stream().sorted().map(tagId -> new Object[]{promptId, tagId}).toList());
+            evictCachedTags(promptId);
+        }
+    }
+
+    public void delete(UUID promptId, Collection<UUID> tagIds) {
+        if (!tagIds.isEmpty()) {
+            List<Object[]> rows = tagIds.stream().sorted().map(tagId -> new Object[]{promptId, tagId}).toList();
+            jdbcTemplate.batchUpdate(DELETE_SQL, rows);
+            evictCachedTags(promptId);
+        }
+    }
+
+    /**
+     * These writes bypass Hibernate, so the cached tag collection is dropped by hand: once now for
+     * the rest of this transaction, and again after completion in case a concurrent reader re-cached
+     * the old rows in between.
+     */
+    private void evictCachedTags(UUID promptId) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(TAGS_CACHE_ROLE, promptId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evictCollectionData(TAGS_CACHE_ROLE, promptId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.promptdex.api.repository;
+
+import java.time.Instant;
+
+public record PromptVersionRow(
+        Instant updatedAt,
+        long ratingCount,
+        long ratingSum,
+        Instant lastReviewUpdatedAt
+) {
+}
@@ -1,14 +1,23 @@
 package com.promptdex.api.repository;
 
 import com.promptdex.api.model.Review;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
@@ -16,6 +25,12 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
     boolean existsByPrompt_IdAndUser_Id(UUID promptId, UUID userId);
 
+    @Query("SELECT MAX(r.updatedAt) FROM Review r WHERE r.prompt.id = :promptId")
+    Optional<Instant> findLastUpdatedAtByPromptId(@Param("promptId") UUID promptId);
+
+    @Query("SELECT r FROM Review r JOIN FETCH r.user u WHERE r.prompt.id = :promptId AND u.username = :username")
+    Optional<Review> findByPromptIdAndUsername(@Param("promptId") UUID promptId, @Param("username") String username);
+
     @Query(value = "SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.prompt",
             countQuery = "SELECT count(r) FROM Review r")
     Page<Review> findAllWithUserAndPrompt(Pageable pageable);
@@ -35,4 +50,30 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
                     "LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
                     "LOWER(p.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     Page<Review> findAllAdminSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query("SELECT r FROM Review r JOIN FETCH r.user WHERE r.prompt.id = :promptId AND " +
+            "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<Review> findNewestByPromptId(
+            @Param("promptId") UUID promptId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Query("SELECT r FROM Review r JOIN FETCH r.user WHERE r.prompt.id = :promptId AND " +
+            "(r.rating < :rating OR (r.rating = :rating AND " +
+            "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)))) " +
+            "ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    Slice<Review> findHighestRatedByPromptId(
+            @Param("promptId") UUID promptId,
+            @Param("rating") int rating,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT r.prompt.id, r.createdAt FROM Review r WHERE r.createdAt >= :since")
+    Stream<Object[]> streamReviewActivitySince(@Param("since") Instant since);
+}
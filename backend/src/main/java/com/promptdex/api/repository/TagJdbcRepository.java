@@ -0,0 +1,42 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.util.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class TagJdbcRepository {
+    private static final String POSTGRES_UPSERT_SQL = "INSERT INTO tags (id, name) VALUES (?, ?) ON CONFLICT (name) DO NOTHING";
+    private static final String STANDARD_UPSERT_SQL = "MERGE INTO tags t USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(50)))) AS s (id, name) " +
+            "ON t.name = s.name WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)";
+    private static final String SELECT_IDS_SQL = "SELECT id, name FROM tags WHERE name IN (:names)";
+    private final ConflictIgnoringInsert upsert;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public TagJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.upsert = new ConflictIgnoringInsert(jdbcTemplate, POSTGRES_UPSERT_SQL, STANDARD_UPSERT_SQL);
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public Map<String, UUID> upsertTagIds(Collection<String> names) {
+        Map<String, UUID> tagIds = new HashMap<>();
+        if (names.isEmpty()) {
+            return tagIds;
+        }
+        List<Object[]> rows = new ArrayList<>(names.size());
+        names.stream().sorted().forEach(name -> rows.add(new Object[]{UuidV7.next(), name}));
+        upsert.execute(rows);
+        namedParameterJdbcTemplate.query(SELECT_IDS_SQL, Map.of("names", names), rs -> {
+            tagIds.put(rs.getString("name"), rs.getObject("id", UUID.class));
+        });
+        return tagIds;
+    }
+}
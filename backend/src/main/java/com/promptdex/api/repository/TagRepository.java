@@ -2,10 +2,12 @@ package com.promptdex.api.repository;
 
 import com.promptdex.api.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-import java.util.Set;
+import java.util.List;
 import java.util.UUID;
 
 public interface TagRepository extends JpaRepository<Tag, UUID> {
-    Set<Tag> findByNameInIgnoreCase(Set<String> names);
-}
\ No newline at end of file
+    @Query("SELECT t.id, t.name, COUNT(p.id) FROM Tag t LEFT JOIN t.prompts p GROUP BY t.id, t.name")
+    List<Object[]> findTagUsage();
+}
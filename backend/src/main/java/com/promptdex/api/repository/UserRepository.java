@@ -1,16 +1,23 @@
 package com.promptdex.api.repository;
 
 import com.promptdex.api.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
@@ -21,14 +28,37 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.bookmarkedPrompts WHERE u.username = :username")
-    Optional<User> findByUsernameWithBookmarks(@Param("username") String username);
+    @Query("SELECT p.id FROM User u JOIN u.bookmarkedPrompts p WHERE u.id = :userId AND p.id IN :promptIds")
+    Set<UUID> findBookmarkedPromptIdsAmong(@Param("userId") UUID userId, @Param("promptIds") List<UUID> promptIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_bookmarks"))
+    @Query(value = "DELETE FROM user_bookmarks WHERE user_id = :userId AND prompt_id = :promptId", nativeQuery = true)
+    int deleteBookmark(@Param("userId") UUID userId, @Param("promptId") UUID promptId);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u JOIN u.following f " +
+            "WHERE u.username = :followerUsername AND f.id = :followedId")
+    boolean existsFollow(@Param("followerUsername") String followerUsername, @Param("followedId") UUID followedId);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u JOIN u.bookmarkedPrompts b " +
+            "WHERE u.username = :username AND b.id = :promptId")
+    boolean existsBookmark(@Param("username") String username, @Param("promptId") UUID promptId);
+
+    @Query("SELECT new com.promptdex.api.repository.ProfileVersionRow(u.id, u.followersCount, u.followingCount) " +
+            "FROM User u WHERE u.username = :username")
+    Optional<ProfileVersionRow> findProfileVersionByUsername(@Param("username") String username);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.following WHERE u.username = :username")
-    Optional<User> findByUsernameWithFollowing(@Param("username") String username);
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_follows"))
+    @Query(value = "DELETE FROM user_follows WHERE user_id = :followerId AND followed_id = :followedId", nativeQuery = true)
+    int deleteFollow(@Param("followerId") UUID followerId, @Param("followedId") UUID followedId);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.followers WHERE u.id = :id")
-    Optional<User> findByIdWithFollowers(@Param("id") UUID id);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET " +
+            "u.followingCount = u.followingCount + CASE WHEN u.id = :followerId THEN :delta ELSE 0 END, " +
+            "u.followersCount = u.followersCount + CASE WHEN u.id = :followedId THEN :delta ELSE 0 END " +
+            "WHERE u.id IN (:followerId, :followedId)")
+    int adjustFollowCounts(@Param("followerId") UUID followerId, @Param("followedId") UUID followedId, @Param("delta") long delta);
 
     @Query(value = "SELECT u FROM User u WHERE " +
             "(:searchTerm IS NULL OR :searchTerm = '' OR " +
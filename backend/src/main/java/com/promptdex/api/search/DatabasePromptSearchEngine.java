@@ -0,0 +1,36 @@
+package com.promptdex.api.search;
+
+import com.promptdex.api.repository.PromptRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "database")
+public class DatabasePromptSearchEngine implements PromptSearchEngine {
+    private final PromptRepository promptRepository;
+
+    public DatabasePromptSearchEngine(PromptRepository promptRepository) {
+        this.promptRepository = promptRepository;
+    }
+
+    @Override
+    public Page<UUID> search(String searchTerm, List<String> tags, Pageable pageable) {
+        Pageable byNewest = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "createdAt"));
+        return promptRepository.searchPromptIds(searchTerm.trim(), tags, byNewest);
+    }
+
+    @Override
+    public void index(PromptDocument document) {
+    }
+
+    @Override
+    public void remove(UUID promptId) {
+    }
+}
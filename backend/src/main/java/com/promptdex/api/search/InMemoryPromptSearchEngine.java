@@ -0,0 +1,435 @@
+package com.promptdex.api.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPromptSearchEngine implements PromptSearchEngine {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<UUID, Integer> docIdsByPromptId = new HashMap<>();
+    private final Map<String, String> tagPool = new HashMap<>();
+    private BitSet deletedDocs = new BitSet();
+    private UUID[] promptIds = new UUID[INITIAL_CAPACITY];
+    private String[][] docTags = new String[INITIAL_CAPACITY][];
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+    private long[] docCreatedAt = new long[INITIAL_CAPACITY];
+    private int nextDocId;
+    private int deletedCount;
+    private long totalDocLength;
+
+    @Override
+    public void index(PromptDocument document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : SearchTokenizer.tokenize(document.title())) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : SearchTokenizer.tokenize(document.description())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        for (String token : SearchTokenizer.tokenize(document.text())) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            markDeleted(document.id());
+            int docId = nextDocId++;
+            ensureCapacity(docId + 1);
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(docId, entry.getValue());
+                length += entry.getValue();
+            }
+            promptIds[docId] = document.id();
+            docTags[docId] = pooledTags(document.tags());
+            docLengths[docId] = length;
+            docCreatedAt[docId] = document.createdAt() != null ? document.createdAt().toEpochMilli() : 0L;
+            docIdsByPromptId.put(document.id(), docId);
+            totalDocLength += length;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID promptId) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(promptId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<UUID> search(String searchTerm, List<String> tags, Pageable pageable) {
+        List<String> queryTerms = SearchTokenizer.tokenize(searchTerm);
+        lock.readLock().lock();
+        try {
+            int liveDocs = docIdsByPromptId.size();
+            if (liveDocs == 0) {
+                return Page.empty(pageable);
+            }
+            if (queryTerms.isEmpty()) {
+                // Only stop-words or punctuation: list everything, newest first, like an empty search box
+                return topResults(filterByTags(allLiveDocs(), tags), pageable);
+            }
+            float averageDocLength = Math.max(1f, (float) totalDocLength / liveDocs);
+            List<PostingList[]> groups = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                PostingList[] group = expand(queryTerms.get(i), i == queryTerms.size() - 1);
+                if (group.length == 0) {
+                    return Page.empty(pageable);
+                }
+                groups.add(group);
+            }
+            groups.sort(Comparator.comparingLong(InMemoryPromptSearchEngine::documentFrequency));
+            Candidates candidates = collect(groups.get(0), liveDocs, averageDocLength);
+            for (int i = 1; i < groups.size() && candidates.size > 0; i++) {
+                candidates = intersect(candidates, groups.get(i), liveDocs, averageDocLength);
+            }
+            candidates = filterByTags(candidates, tags);
+            return topResults(candidates, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByPromptId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int allocatedDocIds() {
+        lock.readLock().lock();
+        try {
+            return nextDocId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Candidates allLiveDocs() {
+        Candidates candidates = new Candidates(docIdsByPromptId.size());
+        for (int docId = deletedDocs.nextClearBit(0); docId < nextDocId; docId = deletedDocs.nextClearBit(docId + 1)) {
+            candidates.add(docId, 0f);
+        }
+        return candidates;
+    }
+
+    private PostingList[] expand(String term, boolean prefix) {
+        if (!prefix) {
+            PostingList exact = postings.get(term);
+            return exact != null ? new PostingList[]{exact} : new PostingList[0];
+        }
+        List<PostingList> matches = new ArrayList<>();
+        Iterator<PostingList> iterator = postings.subMap(term, true, term + Character.MAX_VALUE, true).values().iterator();
+        while (iterator.hasNext() && matches.size() < MAX_PREFIX_EXPANSIONS) {
+            matches.add(iterator.next());
+        }
+        return matches.toArray(new PostingList[0]);
+    }
+
+    private static long documentFrequency(PostingList[] group) {
+        long total = 0;
+        for (PostingList list : group) {
+            total += list.size;
+        }
+        return total;
+    }
+
+    private Candidates collect(PostingList[] group, int liveDocs, float averageDocLength) {
+        if (group.length == 1) {
+            PostingList list = group[0];
+            Candidates candidates = new Candidates(list.size);
+            float idf = idf(list.size, liveDocs);
+            for (int i = 0; i < list.size; i++) {
+                int docId = list.docs[i];
+                if (!deletedDocs.get(docId)) {
+                    candidates.add(docId, termScore(idf, list.freqs[i], docId, averageDocLength));
+                }
+            }
+            return candidates;
+        }
+        int total = (int) documentFrequency(group);
+        long[] packed = new long[total];
+        int count = 0;
+        for (PostingList list : group) {
+            float idf = idf(list.size, liveDocs);
+            for (int i = 0; i < list.size; i++) {
+                int docId = list.docs[i];
+                if (!deletedDocs.get(docId)) {
+                    float score = termScore(idf, list.freqs[i], docId, averageDocLength);
+                    packed[count++] = ((long) docId << 32) | (Float.floatToRawIntBits(score) & 0xffffffffL);
+                }
+            }
+        }
+        Arrays.sort(packed, 0, count);
+        Candidates candidates = new Candidates(count);
+        for (int i = 0; i < count; i++) {
+            int docId = (int) (packed[i] >>> 32);
+            float score = Float.intBitsToFloat((int) packed[i]);
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == docId) {
+                candidates.scores[candidates.size - 1] += score;
+            } else {
+                candidates.add(docId, score);
+            }
+        }
+        return candidates;
+    }
+
+    private Candidates intersect(Candidates candidates, PostingList[] group, int liveDocs, float averageDocLength) {
+        float[] idfs = new float[group.length];
+        for (int i = 0; i < group.length; i++) {
+            idfs[i] = idf(group[i].size, liveDocs);
+        }
+        Candidates result = new Candidates(candidates.size);
+        for (int c = 0; c < candidates.size; c++) {
+            int docId = candidates.docs[c];
+            float score = 0f;
+            boolean matched = false;
+            for (int i = 0; i < group.length; i++) {
+                int position = group[i].indexOf(docId);
+                if (position >= 0) {
+                    matched = true;
+                    score += termScore(idfs[i], group[i].freqs[position], docId, averageDocLength);
+                }
+            }
+            if (matched) {
+                result.add(docId, candidates.scores[c] + score);
+            }
+        }
+        return result;
+    }
+
+    private Candidates filterByTags(Candidates candidates, List<String> tags) {
+        if (tags == null || tags.isEmpty() || candidates.size == 0) {
+            return candidates;
+        }
+        Set<String> wanted = new HashSet<>();
+        for (String tag : tags) {
+            wanted.add(tag.toLowerCase(Locale.ROOT));
+        }
+        Candidates result = new Candidates(candidates.size);
+        for (int i = 0; i < candidates.size; i++) {
+            int docId = candidates.docs[i];
+            for (String tag : docTags[docId]) {
+                if (wanted.contains(tag)) {
+                    result.add(docId, candidates.scores[i]);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Page<UUID> topResults(Candidates candidates, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        if (candidates.size == 0 || offset >= candidates.size) {
+            return new PageImpl<>(Collections.emptyList(), pageable, candidates.size);
+        }
+        int limit = pageable.isPaged() ? pageable.getPageSize() : candidates.size;
+        int k = (int) Math.min(candidates.size, offset + limit);
+        Comparator<Integer> ranking = (a, b) -> {
+            int byScore = Float.compare(candidates.scores[b], candidates.scores[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byCreatedAt = Long.compare(docCreatedAt[candidates.docs[b]], docCreatedAt[candidates.docs[a]]);
+            return byCreatedAt != 0 ? byCreatedAt : Integer.compare(candidates.docs[b], candidates.docs[a]);
+        };
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, ranking.reversed());
+        for (int i = 0; i < candidates.size; i++) {
+            if (heap.size() < k) {
+                heap.add(i);
+            } else if (ranking.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        Integer[] ranked = heap.toArray(new Integer[0]);
+        Arrays.sort(ranked, ranking);
+        List<UUID> content = new ArrayList<>(limit);
+        for (int i = (int) offset; i < ranked.length; i++) {
+            content.add(promptIds[candidates.docs[ranked[i]]]);
+        }
+        return new PageImpl<>(content, pageable, candidates.size);
+    }
+
+    private float idf(int documentFrequency, int liveDocs) {
+        return (float) Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private float termScore(float idf, int frequency, int docId, float averageDocLength) {
+        float normalization = K1 * (1 - B + B * docLengths[docId] / averageDocLength);
+        return idf * (frequency * (K1 + 1)) / (frequency + normalization);
+    }
+
+    private void markDeleted(UUID promptId) {
+        Integer docId = docIdsByPromptId.remove(promptId);
+        if (docId == null) {
+            return;
+        }
+        deletedDocs.set(docId);
+        deletedCount++;
+        totalDocLength -= docLengths[docId];
+        promptIds[docId] = null;
+        docTags[docId] = null;
+    }
+
+    /**
+     * Every re-index allocates a fresh doc id so posting lists stay sorted; compaction renumbers the live
+     * documents in their existing order, which keeps the per-document arrays sized to live prompts.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount < Math.max(MIN_DELETED_BEFORE_COMPACTION, docIdsByPromptId.size() / 4)) {
+            return;
+        }
+        int[] newDocIds = new int[nextDocId];
+        int liveDocs = 0;
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (deletedDocs.get(docId)) {
+                newDocIds[docId] = -1;
+                continue;
+            }
+            newDocIds[docId] = liveDocs;
+            promptIds[liveDocs] = promptIds[docId];
+            docTags[liveDocs] = docTags[docId];
+            docLengths[liveDocs] = docLengths[docId];
+            docCreatedAt[liveDocs] = docCreatedAt[docId];
+            liveDocs++;
+        }
+        Iterator<PostingList> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            PostingList list = iterator.next();
+            list.renumber(newDocIds);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+        docIdsByPromptId.replaceAll((promptId, docId) -> newDocIds[docId]);
+        int capacity = Math.max(INITIAL_CAPACITY, liveDocs * 2);
+        promptIds = Arrays.copyOf(promptIds, capacity);
+        docTags = Arrays.copyOf(docTags, capacity);
+        docLengths = Arrays.copyOf(docLengths, capacity);
+        docCreatedAt = Arrays.copyOf(docCreatedAt, capacity);
+        Arrays.fill(promptIds, liveDocs, capacity, null);
+        Arrays.fill(docTags, liveDocs, capacity, null);
+        deletedDocs = new BitSet();
+        nextDocId = liveDocs;
+        deletedCount = 0;
+    }
+
+    private String[] pooledTags(Set<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return new String[0];
+        }
+        String[] pooled = new String[tags.size()];
+        int i = 0;
+        for (String tag : tags) {
+            String normalized = tag.toLowerCase(Locale.ROOT);
+            pooled[i++] = tagPool.computeIfAbsent(normalized, name -> name);
+        }
+        return pooled;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= promptIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, promptIds.length * 2);
+        promptIds = Arrays.copyOf(promptIds, newCapacity);
+        docTags = Arrays.copyOf(docTags, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+        docCreatedAt = Arrays.copyOf(docCreatedAt, newCapacity);
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int docId, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = docId;
+            freqs[size] = frequency;
+            size++;
+        }
+
+        int indexOf(int docId) {
+            return Arrays.binarySearch(docs, 0, size, docId);
+        }
+
+        void renumber(int[] newDocIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int docId = newDocIds[docs[i]];
+                if (docId >= 0) {
+                    docs[kept] = docId;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < docs.length / 4 && docs.length > 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size * 2));
+            }
+        }
+    }
+
+    private static final class Candidates {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        Candidates(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void add(int docId, float score) {
+            docs[size] = docId;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.promptdex.api.search;
+
+import com.promptdex.api.event.PromptSavedEvent;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+public record PromptDocument(
+        UUID id,
+        String title,
+        String description,
+        String text,
+        Set<String> tags,
+        Instant createdAt
+) {
+    public static PromptDocument from(PromptSavedEvent event) {
+        return new PromptDocument(
+                event.promptId(),
+                event.title(),
+                event.description(),
+                event.promptText(),
+                event.tags(),
+                event.createdAt()
+        );
+    }
+}
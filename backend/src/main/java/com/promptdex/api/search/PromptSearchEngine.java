@@ -0,0 +1,15 @@
+package com.promptdex.api.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface PromptSearchEngine {
+    Page<UUID> search(String searchTerm, List<String> tags, Pageable pageable);
+
+    void index(PromptDocument document);
+
+    void remove(UUID promptId);
+}
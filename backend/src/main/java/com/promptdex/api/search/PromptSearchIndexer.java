@@ -0,0 +1,88 @@
+package com.promptdex.api.search;
+
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.repository.PromptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "memory", matchIfMissing = true)
+public class PromptSearchIndexer {
+    private static final Logger logger = LoggerFactory.getLogger(PromptSearchIndexer.class);
+    private final PromptSearchEngine searchEngine;
+    private final PromptRepository promptRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public PromptSearchIndexer(PromptSearchEngine searchEngine, PromptRepository promptRepository, PlatformTransactionManager transactionManager) {
+        this.searchEngine = searchEngine;
+        this.promptRepository = promptRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        rebuilding = true;
+        try {
+            long started = System.currentTimeMillis();
+            Integer indexed = transactionTemplate.execute(status -> {
+                Map<UUID, Set<String>> tagsByPrompt = new HashMap<>();
+                try (Stream<Object[]> rows = promptRepository.streamPromptTagNames()) {
+                    rows.forEach(row -> tagsByPrompt.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((String) row[1]));
+                }
+                int[] count = {0};
+                try (Stream<Object[]> rows = promptRepository.streamSearchDocuments()) {
+                    rows.forEach(row -> {
+                        UUID promptId = (UUID) row[0];
+                        if (!changedDuringRebuild.contains(promptId)) {
+                            searchEngine.index(new PromptDocument(promptId, (String) row[1], (String) row[2], (String) row[3],
+                                    tagsByPrompt.getOrDefault(promptId, Set.of()), (Instant) row[4]));
+                            count[0]++;
+                        }
+                    });
+                }
+                return count[0];
+            });
+            logger.info("Indexed {} prompts for search in {} ms", indexed, System.currentTimeMillis() - started);
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptSaved(PromptSavedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.promptId());
+        }
+        searchEngine.index(PromptDocument.from(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptDeleted(PromptDeletedEvent event) {
+        if (rebuilding) {
+            changedDuringRebuild.add(event.promptId());
+        }
+        searchEngine.remove(event.promptId());
+    }
+}
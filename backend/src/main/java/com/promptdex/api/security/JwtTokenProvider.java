@@ -1,8 +1,11 @@
 package com.promptdex.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,7 +14,8 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -20,9 +24,13 @@ public class JwtTokenProvider {
     private String jwtSecret;
     @Value("${jwt.expirationInMs:86400000}")
     private long jwtExpirationInMs;
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(Authentication authentication) {
@@ -34,11 +42,12 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .claim("roles", roles)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -46,46 +55,19 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    @SuppressWarnings("unchecked")
-    public List<String> getRolesFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("roles", List.class);
-    }
-
-    public boolean validateToken(String authToken) {
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
-            return true;
-        } catch (io.jsonwebtoken.security.SecurityException ex) {
-        } catch (io.jsonwebtoken.MalformedJwtException ex) {
-        } catch (io.jsonwebtoken.ExpiredJwtException ex) {
-        } catch (io.jsonwebtoken.UnsupportedJwtException ex) {
-        } catch (IllegalArgumentException ex) {
+            return Optional.of(jwtParser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
         }
-        return false;
-    }
-
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
     }
-}
\ No newline at end of file
+}
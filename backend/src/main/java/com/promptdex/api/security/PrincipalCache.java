@@ -0,0 +1,73 @@
+package com.promptdex.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.promptdex.api.event.UserRolesChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+    private final Cache<Key, UserDetails> principals;
+    private final Cache<String, Long> userVersions;
+
+    @Autowired
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(maxSize, ttlSeconds, Ticker.systemTicker());
+    }
+
+    PrincipalCache(long maxSize, long ttlSeconds, Ticker ticker) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+        // A version may only be forgotten once every principal cached under an older one has expired. The extra
+        // TTL covers a load that read the old version just before the bump and cached its result afterwards.
+        this.userVersions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.multipliedBy(2))
+                .ticker(ticker)
+                .build();
+    }
+
+    public UserDetails get(String token, String username, Function<String, UserDetails> loader) {
+        Long version = userVersions.getIfPresent(username);
+        Key key = new Key(hash(token), version != null ? version : 0L);
+        return principals.get(key, ignored -> loader.apply(username));
+    }
+
+    public void invalidate(String username) {
+        userVersions.asMap().merge(username, 1L, Long::sum);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        invalidate(event.username());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record Key(String tokenHash, long userVersion) {
+    }
+}
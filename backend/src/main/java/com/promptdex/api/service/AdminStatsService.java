@@ -1,26 +1,37 @@
 package com.promptdex.api.service;
 
+import com.promptdex.api.dto.CacheRegionStatsDto;
 import com.promptdex.api.dto.StatsDto;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.ReviewRepository;
 import com.promptdex.api.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Service
 @Transactional(readOnly = true)
 public class AdminStatsService {
     private final UserRepository userRepository;
     private final PromptRepository promptRepository;
     private final ReviewRepository reviewRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     public AdminStatsService(
             UserRepository userRepository,
             PromptRepository promptRepository,
-            ReviewRepository reviewRepository) {
+            ReviewRepository reviewRepository,
+            EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
         this.promptRepository = promptRepository;
         this.reviewRepository = reviewRepository;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     public StatsDto getGlobalStats() {
@@ -29,4 +40,19 @@ public class AdminStatsService {
         long totalReviews = reviewRepository.count();
         return new StatsDto(totalUsers, totalPrompts, totalReviews);
     }
+
+    public List<CacheRegionStatsDto> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+
+    private static CacheRegionStatsDto toDto(String region, CacheRegionStatistics regionStatistics) {
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRatio = hits + misses > 0 ? (double) hits / (hits + misses) : 0.0;
+        return new CacheRegionStatsDto(region, hits, misses, regionStatistics.getPutCount(), hitRatio);
+    }
 }
\ No newline at end of file
@@ -1,76 +1,126 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.CollectionDetailDto;
+import com.promptdex.api.dto.CollectionMembershipResponse;
 import com.promptdex.api.dto.CollectionSummaryDto;
 import com.promptdex.api.dto.CreateCollectionRequest;
+import com.promptdex.api.dto.PatchCollectionPromptsRequest;
+import com.promptdex.api.dto.PromptSummaryDto;
+import com.promptdex.api.event.PromptActivityEvent;
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.event.PromptReviewsChangedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.event.UserBookmarksChangedEvent;
 import com.promptdex.api.exception.CollectionAlreadyExistsException;
 import com.promptdex.api.exception.ResourceNotFoundException;
-import com.promptdex.api.mapper.PromptMapper;
 import com.promptdex.api.model.Collection;
-import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.CollectionPromptJdbcRepository;
 import com.promptdex.api.repository.CollectionRepository;
+import com.promptdex.api.repository.CollectionVersionRow;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.UserRepository;
-import org.springframework.security.access.AccessDeniedException;
+import com.promptdex.api.util.ETags;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CollectionService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_MEMBERSHIP_CHANGES = 500;
     private final CollectionRepository collectionRepository;
+    private final CollectionPromptJdbcRepository collectionPromptJdbcRepository;
     private final UserRepository userRepository;
     private final PromptRepository promptRepository;
-    private final PromptMapper promptMapper;
+    private final PromptSummaryService promptSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CollectionService(CollectionRepository collectionRepository, UserRepository userRepository, PromptRepository promptRepository, PromptMapper promptMapper) {
+    public CollectionService(CollectionRepository collectionRepository, CollectionPromptJdbcRepository collectionPromptJdbcRepository,
+                             UserRepository userRepository, PromptRepository promptRepository, PromptSummaryService promptSummaryService,
+                             ApplicationEventPublisher eventPublisher) {
         this.collectionRepository = collectionRepository;
+        this.collectionPromptJdbcRepository = collectionPromptJdbcRepository;
         this.userRepository = userRepository;
         this.promptRepository = promptRepository;
-        this.promptMapper = promptMapper;
+        this.promptSummaryService = promptSummaryService;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<CollectionSummaryDto> getCollectionsForUser(String username) {
-        User user = findUserByUsername(username);
-        List<Collection> collections = collectionRepository.findByOwner_UsernameOrderByNameAsc(user.getUsername());
-        return collections.stream()
-                .map(collection -> new CollectionSummaryDto(
-                        collection.getId(),
-                        collection.getName(),
-                        collection.getDescription(),
-                        collection.getPrompts().size(),
-                        collection.getCreatedAt()
-                ))
-                .collect(Collectors.toList());
-    }
-
-    public CollectionDetailDto getCollectionById(UUID collectionId, String username) {
-        User user = findUserByUsername(username);
-        Collection collection = collectionRepository.findByIdWithPrompts(collectionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Collection not found with id: " + collectionId));
-        if (!collection.getOwner().getId().equals(user.getId())) {
-            throw new ResourceNotFoundException("Collection not found with id: " + collectionId);
-        }
-        List<com.promptdex.api.dto.PromptDto> promptDtos = collection.getPrompts().stream()
-                .map(prompt -> promptMapper.toDto(prompt, user))
-                .sorted(Comparator.comparing(com.promptdex.api.dto.PromptDto::createdAt).reversed())
-                .collect(Collectors.toList());
+        return collectionRepository.findSummariesByOwnerUsername(username);
+    }
+
+    @Transactional(readOnly = true)
+    public CollectionDetailDto getCollectionById(UUID collectionId, String username, int page, int size) {
+        Collection collection = findCollectionByIdAndOwner(collectionId, username);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        Page<UUID> idPage = promptRepository.findIdsByCollectionId(collectionId, pageable);
+        Page<PromptSummaryDto> prompts = promptSummaryService.getSummaryPage(idPage, findUserByUsername(username));
         return new CollectionDetailDto(
                 collection.getId(),
                 collection.getName(),
                 collection.getDescription(),
                 collection.getCreatedAt(),
                 collection.getUpdatedAt(),
-                promptDtos
+                idPage.getTotalElements(),
+                prompts
         );
     }
 
+    @Transactional(readOnly = true)
+    public String getCollectionETag(UUID collectionId, String username) {
+        CollectionVersionRow version = collectionRepository.findVersionByIdAndOwnerUsername(collectionId, username)
+                .orElseThrow(() -> new ResourceNotFoundException("Collection not found with id: " + collectionId + " for user " + username));
+        return ETags.strong("c", version.updatedAt(), version.contentVersion());
+    }
+
+    /**
+     * The collection page shows each member's summary, so edits, reviews and removals of a member prompt
+     * move the version of every collection that holds it.
+     */
+    @EventListener
+    public void onPromptSaved(PromptSavedEvent event) {
+        if (!event.created()) {
+            collectionRepository.bumpContentVersionByPromptId(event.promptId());
+        }
+    }
+
+    @EventListener
+    public void onPromptReviewsChanged(PromptReviewsChangedEvent event) {
+        collectionRepository.bumpContentVersionByPromptId(event.promptId());
+    }
+
+    @EventListener
+    public void onPromptDeleted(PromptDeletedEvent event) {
+        collectionRepository.bumpContentVersionByPromptId(event.promptId());
+    }
+
+    /**
+     * Bookmark flags are only shown to the owner, so only the owner's collections holding those prompts move.
+     */
+    @EventListener
+    public void onUserBookmarksChanged(UserBookmarksChangedEvent event) {
+        if (!event.promptIds().isEmpty()) {
+            collectionRepository.bumpContentVersionByOwnerIdAndPromptIds(event.userId(), event.promptIds());
+        }
+    }
+
     public CollectionSummaryDto createCollection(CreateCollectionRequest request, String username) {
         User user = findUserByUsername(username);
         if (collectionRepository.existsByNameAndOwner_Id(request.name(), user.getId())) {
@@ -87,21 +137,46 @@ public class CollectionService {
         );
     }
 
-    public CollectionDetailDto addPromptToCollection(UUID collectionId, UUID promptId, String username) {
-        Collection collection = findCollectionByIdAndOwner(collectionId, username);
-        Prompt prompt = promptRepository.findById(promptId)
-                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        collection.getPrompts().add(prompt);
-        collectionRepository.save(collection);
-        return getCollectionById(collectionId, username);
+    public CollectionMembershipResponse addPromptToCollection(UUID collectionId, UUID promptId, String username) {
+        checkCollectionOwner(collectionId, username);
+        if (!promptRepository.existsById(promptId)) {
+            throw new ResourceNotFoundException("Prompt not found with id: " + promptId);
+        }
+        int added = collectionPromptJdbcRepository.insertPrompt(collectionId, promptId) ? 1 : 0;
+        if (added > 0) {
+            touch(collectionId);
+            eventPublisher.publishEvent(new PromptActivityEvent(promptId, PromptActivityEvent.Type.COLLECTION));
+        }
+        return new CollectionMembershipResponse(collectionId, added, 0, collectionRepository.countPrompts(collectionId));
     }
 
     public void removePromptFromCollection(UUID collectionId, UUID promptId, String username) {
-        Collection collection = findCollectionByIdAndOwner(collectionId, username);
-        Prompt prompt = promptRepository.findById(promptId)
-                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        collection.getPrompts().remove(prompt);
-        collectionRepository.save(collection);
+        checkCollectionOwner(collectionId, username);
+        if (collectionRepository.deletePrompt(collectionId, promptId) > 0) {
+            touch(collectionId);
+        } else if (!promptRepository.existsById(promptId)) {
+            throw new ResourceNotFoundException("Prompt not found with id: " + promptId);
+        }
+    }
+
+    public CollectionMembershipResponse patchCollectionPrompts(UUID collectionId, PatchCollectionPromptsRequest request, String username) {
+        Set<UUID> toAdd = request.add() == null ? Set.of() : request.add();
+        Set<UUID> toRemove = request.remove() == null ? new HashSet<>() : new HashSet<>(request.remove());
+        if (toAdd.size() + toRemove.size() > MAX_BULK_MEMBERSHIP_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_MEMBERSHIP_CHANGES + " collection changes can be applied at once.");
+        }
+        checkCollectionOwner(collectionId, username);
+        toRemove.removeAll(toAdd);
+        int removed = toRemove.isEmpty() ? 0 : collectionRepository.deletePrompts(collectionId, toRemove);
+        List<UUID> addedIds = toAdd.isEmpty() ? List.of() : collectionPromptJdbcRepository.insertPrompts(collectionId, toAdd);
+        for (UUID promptId : addedIds) {
+            eventPublisher.publishEvent(new PromptActivityEvent(promptId, PromptActivityEvent.Type.COLLECTION));
+        }
+        int added = addedIds.size();
+        if (added + removed > 0) {
+            touch(collectionId);
+        }
+        return new CollectionMembershipResponse(collectionId, added, removed, collectionRepository.countPrompts(collectionId));
     }
 
     public CollectionSummaryDto updateCollection(UUID collectionId, CreateCollectionRequest request, String username) {
@@ -112,14 +187,9 @@ public class CollectionService {
         }
         collection.setName(request.name());
         collection.setDescription(request.description());
-        Collection updatedCollection = collectionRepository.save(collection);
-        return new CollectionSummaryDto(
-                updatedCollection.getId(),
-                updatedCollection.getName(),
-                updatedCollection.getDescription(),
-                updatedCollection.getPrompts().size(),
-                updatedCollection.getCreatedAt()
-        );
+        collectionRepository.save(collection);
+        return collectionRepository.findSummaryById(collectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Collection not found with id: " + collectionId));
     }
 
     public void deleteCollection(UUID collectionId, String username) {
@@ -132,6 +202,17 @@ public class CollectionService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
     }
 
+    private void touch(UUID collectionId) {
+        // Membership rows are written directly, so bump the collection's versions for ETags by hand
+        collectionRepository.touchUpdatedAt(collectionId, Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private void checkCollectionOwner(UUID collectionId, String username) {
+        if (!collectionRepository.existsByIdAndOwner_Username(collectionId, username)) {
+            throw new ResourceNotFoundException("Collection not found with id: " + collectionId + " for user " + username);
+        }
+    }
+
     private Collection findCollectionByIdAndOwner(UUID collectionId, String username) {
         return collectionRepository.findByIdAndOwner_Username(collectionId, username)
                 .orElseThrow(() -> new ResourceNotFoundException("Collection not found with id: " + collectionId + " for user " + username));
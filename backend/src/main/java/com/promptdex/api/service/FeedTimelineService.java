@@ -0,0 +1,88 @@
+package com.promptdex.api.service;
+
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.event.UserFollowedEvent;
+import com.promptdex.api.event.UserUnfollowedEvent;
+import com.promptdex.api.repository.FeedEntryRepository;
+import com.promptdex.api.repository.FeedTimelineRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class FeedTimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(FeedTimelineService.class);
+    private final FeedEntryRepository feedEntryRepository;
+    private final FeedTimelineRepository feedTimelineRepository;
+    private final int capacity;
+
+    public FeedTimelineService(FeedEntryRepository feedEntryRepository, FeedTimelineRepository feedTimelineRepository,
+                               @Value("${app.feed.timeline-capacity:500}") int capacity) {
+        this.feedEntryRepository = feedEntryRepository;
+        this.feedTimelineRepository = feedTimelineRepository;
+        this.capacity = capacity;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasTimeline(UUID userId) {
+        return feedTimelineRepository.existsById(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UUID> getTimeline(UUID userId, Pageable pageable) {
+        return feedEntryRepository.findPromptIdsByUserId(userId, pageable);
+    }
+
+    /**
+     * Fills the timeline only when this call inserted its row, so a repeated first load never materializes twice.
+     * Two loads racing past the insert's existence check still collide on the primary key; the loser throws
+     * {@link org.springframework.dao.DataIntegrityViolationException} and the timeline is already there to read.
+     */
+    public Page<UUID> materializeTimeline(UUID userId, Pageable pageable) {
+        if (feedTimelineRepository.insertIfAbsent(userId, Instant.now()) > 0) {
+            feedEntryRepository.materializeTimeline(userId, capacity);
+        }
+        return feedEntryRepository.findPromptIdsByUserId(userId, pageable);
+    }
+
+    @EventListener
+    public void onPromptSaved(PromptSavedEvent event) {
+        if (event.created() && event.authorId() != null) {
+            feedEntryRepository.fanOutPrompt(event.promptId(), event.authorId(), event.createdAt());
+        }
+    }
+
+    @EventListener
+    public void onPromptDeleted(PromptDeletedEvent event) {
+        feedEntryRepository.deleteByPromptId(event.promptId());
+    }
+
+    @EventListener
+    public void onUserFollowed(UserFollowedEvent event) {
+        feedEntryRepository.backfillAuthor(event.followerId(), event.followedId(), capacity);
+    }
+
+    @EventListener
+    public void onUserUnfollowed(UserUnfollowedEvent event) {
+        feedEntryRepository.deleteByUserIdAndAuthorId(event.followerId(), event.unfollowedId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.feed.trim-interval-ms:3600000}", initialDelayString = "${app.feed.trim-interval-ms:3600000}")
+    public void trimTimelines() {
+        int removed = feedEntryRepository.trimTimelines(capacity);
+        if (removed > 0) {
+            logger.info("Trimmed {} feed entries beyond the timeline capacity of {}", removed, capacity);
+        }
+    }
+}
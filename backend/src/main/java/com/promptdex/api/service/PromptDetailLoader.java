@@ -0,0 +1,58 @@
+package com.promptdex.api.service;
+
+import com.promptdex.api.dto.CursorPageDto;
+import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.ReviewDto;
+import com.promptdex.api.exception.ResourceNotFoundException;
+import com.promptdex.api.mapper.PromptMapper;
+import com.promptdex.api.model.Prompt;
+import com.promptdex.api.repository.PromptRepository;
+import com.promptdex.api.repository.PromptVersionRow;
+import com.promptdex.api.repository.ReviewRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Builds the viewer-independent part of a prompt detail page, so one load can be shared by every
+ * concurrent reader of the same prompt.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PromptDetailLoader {
+    private static final int DETAIL_REVIEW_PAGE_SIZE = 10;
+    private final PromptRepository promptRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReviewService reviewService;
+    private final PromptMapper promptMapper;
+
+    public PromptDetailLoader(PromptRepository promptRepository, ReviewRepository reviewRepository, ReviewService reviewService,
+                              PromptMapper promptMapper) {
+        this.promptRepository = promptRepository;
+        this.reviewRepository = reviewRepository;
+        this.reviewService = reviewService;
+        this.promptMapper = promptMapper;
+    }
+
+    /**
+     * The version is taken from the same snapshot as the body, so the tag sent with it never describes
+     * a newer or older state than the one rendered.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Snapshot load(UUID promptId) {
+        // Loaded by id rather than with a fetch join, so hot prompts and their tags come from the second-level cache
+        Prompt prompt = promptRepository.findById(promptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
+        CursorPageDto<ReviewDto> firstReviewPage = reviewService.findReviewPage(promptId, ReviewService.SORT_NEWEST, null, DETAIL_REVIEW_PAGE_SIZE);
+        Instant lastReviewUpdatedAt = reviewRepository.findLastUpdatedAtByPromptId(promptId).orElse(null);
+        long viewCount = promptRepository.findViewCountById(promptId).orElse(0L);
+        PromptVersionRow version = new PromptVersionRow(prompt.getUpdatedAt(), prompt.getRatingCount(), prompt.getRatingSum(), lastReviewUpdatedAt);
+        return new Snapshot(promptMapper.toDto(prompt, viewCount, false, firstReviewPage), version);
+    }
+
+    public record Snapshot(PromptDto prompt, PromptVersionRow version) {
+    }
+}
@@ -1,25 +1,52 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.CreatePromptRequest;
+import com.promptdex.api.dto.CursorPageDto;
+import com.promptdex.api.dto.PatchPromptTagsRequest;
 import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.PromptSummaryDto;
+import com.promptdex.api.dto.ReviewDto;
+import com.promptdex.api.event.PromptActivityEvent;
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.event.UserBookmarksChangedEvent;
 import com.promptdex.api.exception.ResourceNotFoundException;
 import com.promptdex.api.mapper.PromptMapper;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.Tag;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.BookmarkJdbcRepository;
+import com.promptdex.api.repository.PromptJdbcRepository;
 import com.promptdex.api.repository.PromptRepository;
+import com.promptdex.api.repository.PromptTagJdbcRepository;
+import com.promptdex.api.repository.PromptVersionRow;
 import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.search.PromptSearchEngine;
+import com.promptdex.api.trending.TrendingTracker;
+import com.promptdex.api.util.ETagged;
+import com.promptdex.api.util.ETags;
+import com.promptdex.api.util.KeysetCursor;
+import com.promptdex.api.util.SingleFlight;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,16 +54,46 @@ import java.util.stream.Collectors;
 @Service
 @Transactional
 public class PromptService {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BULK_BOOKMARKS = 500;
     private final PromptRepository promptRepository;
+    private final PromptTagJdbcRepository promptTagJdbcRepository;
+    private final PromptJdbcRepository promptJdbcRepository;
     private final UserRepository userRepository;
+    private final BookmarkJdbcRepository bookmarkJdbcRepository;
     private final TagService tagService;
     private final PromptMapper promptMapper;
+    private final PromptSummaryService promptSummaryService;
+    private final PromptDetailLoader promptDetailLoader;
+    private final ReviewService reviewService;
+    private final PromptSearchEngine promptSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PromptViewCounter promptViewCounter;
+    private final TrendingTracker trendingTracker;
+    private final SingleFlight<UUID, PromptDetailLoader.Snapshot> promptDetailLoads = new SingleFlight<>();
 
-    public PromptService(PromptRepository promptRepository, UserRepository userRepository, TagService tagService, PromptMapper promptMapper) {
+    public PromptService(PromptRepository promptRepository, PromptTagJdbcRepository promptTagJdbcRepository,
+                         PromptJdbcRepository promptJdbcRepository, UserRepository userRepository,
+                         BookmarkJdbcRepository bookmarkJdbcRepository,
+                         TagService tagService, PromptMapper promptMapper,
+                         PromptSummaryService promptSummaryService, PromptDetailLoader promptDetailLoader, ReviewService reviewService,
+                         PromptSearchEngine promptSearchEngine,
+                         ApplicationEventPublisher eventPublisher, PromptViewCounter promptViewCounter,
+                         TrendingTracker trendingTracker) {
         this.promptRepository = promptRepository;
+        this.promptTagJdbcRepository = promptTagJdbcRepository;
+        this.promptJdbcRepository = promptJdbcRepository;
         this.userRepository = userRepository;
+        this.bookmarkJdbcRepository = bookmarkJdbcRepository;
         this.tagService = tagService;
         this.promptMapper = promptMapper;
+        this.promptSummaryService = promptSummaryService;
+        this.promptDetailLoader = promptDetailLoader;
+        this.reviewService = reviewService;
+        this.promptSearchEngine = promptSearchEngine;
+        this.eventPublisher = eventPublisher;
+        this.promptViewCounter = promptViewCounter;
+        this.trendingTracker = trendingTracker;
     }
 
     private User getOptionalUser(UserDetails userDetails) {
@@ -46,6 +103,28 @@ public class PromptService {
         return userRepository.findByUsername(userDetails.getUsername()).orElse(null);
     }
 
+    private boolean isBookmarkedBy(User user, UUID promptId) {
+        return promptSummaryService.findBookmarkedIds(user, List.of(promptId)).contains(promptId);
+    }
+
+    private long viewCountOf(UUID promptId) {
+        return promptRepository.findViewCountById(promptId).orElse(0L);
+    }
+
+    private CursorPageDto<PromptSummaryDto> toCursorPage(Slice<UUID> slice, User currentUser) {
+        List<PromptSummaryDto> content = promptSummaryService.getSummaries(slice.getContent(), currentUser);
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            PromptSummaryDto last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPageDto<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    private Pageable cursorPageable(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)));
+    }
+
     private User getUserFromDetails(UserDetails userDetails) {
         if (userDetails == null) {
             throw new AccessDeniedException("Authentication is required to perform this action.");
@@ -54,21 +133,81 @@ public class PromptService {
                 .orElseThrow(() -> new ResourceNotFoundException("User " + userDetails.getUsername() + " not found in database."));
     }
 
+    private void publishTagsRemoved(Prompt prompt) {
+        if (!prompt.getTags().isEmpty()) {
+            Set<String> tagNames = prompt.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
+            eventPublisher.publishEvent(new PromptTagsChangedEvent(prompt.getId(), Map.of(), tagNames));
+        }
+    }
+
     @Transactional(readOnly = true)
-    public Page<PromptDto> searchAndPagePrompts(String searchTerm, List<String> tags, int page, int size, UserDetails userDetails) {
+    public Page<PromptSummaryDto> searchAndPagePrompts(String searchTerm, List<String> tags, int page, int size, UserDetails userDetails) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         List<String> lowerCaseTags = (tags != null && !tags.isEmpty()) ? tags.stream().map(String::toLowerCase).collect(Collectors.toList()) : null;
-        Page<Prompt> promptPage = promptRepository.searchAndPagePrompts(searchTerm, lowerCaseTags, pageable);
-        User currentUser = getOptionalUser(userDetails);
-        return promptPage.map(prompt -> promptMapper.toDto(prompt, currentUser));
+        Page<UUID> idPage = StringUtils.hasText(searchTerm)
+                ? promptSearchEngine.search(searchTerm, lowerCaseTags, pageable)
+                : promptRepository.searchPromptIds(null, lowerCaseTags, pageable);
+        return promptSummaryService.getSummaryPage(idPage, getOptionalUser(userDetails));
     }
 
     @Transactional(readOnly = true)
-    public PromptDto getPromptById(UUID promptId, UserDetails userDetails) {
-        Prompt prompt = promptRepository.findByIdWithAuthorAndTags(promptId)
+    public CursorPageDto<PromptSummaryDto> searchPromptsByCursor(String searchTerm, List<String> tags, String cursor, int size, UserDetails userDetails) {
+        if (StringUtils.hasText(searchTerm)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported for ranked search results. Use page and size instead.");
+        }
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<String> lowerCaseTags = (tags != null && !tags.isEmpty()) ? tags.stream().map(String::toLowerCase).collect(Collectors.toList()) : null;
+        Slice<UUID> slice = promptRepository.findKeysetPage(lowerCaseTags, position.createdAt(), position.id(), cursorPageable(size));
+        return toCursorPage(slice, getOptionalUser(userDetails));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PromptSummaryDto> getTrendingPrompts(int limit, UserDetails userDetails) {
+        List<UUID> promptIds = trendingTracker.topPromptIds(Math.max(1, Math.min(limit, MAX_CURSOR_PAGE_SIZE)));
+        return promptSummaryService.getSummaries(promptIds, getOptionalUser(userDetails));
+    }
+
+    /**
+     * Runs without a transaction of its own so that readers waiting on a shared load hold no connection.
+     * Inside a caller's transaction the load is not shared, since it may see that caller's uncommitted rows.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ETagged<PromptDto> getPromptById(UUID promptId, UserDetails userDetails) {
+        PromptDetailLoader.Snapshot snapshot = TransactionSynchronizationManager.isActualTransactionActive()
+                ? promptDetailLoader.load(promptId)
+                : promptDetailLoads.execute(promptId, () -> promptDetailLoader.load(promptId));
+        promptViewCounter.record(promptId);
+        if (userDetails == null) {
+            return new ETagged<>(snapshot.prompt(), promptETag(snapshot.version(), false));
+        }
+        // The shared load only embeds the first review page, so the viewer's own review is looked up directly
+        boolean bookmarked = userRepository.existsBookmark(userDetails.getUsername(), promptId);
+        ReviewDto viewerReview = reviewService.findViewerReview(promptId, userDetails.getUsername()).orElse(null);
+        PromptDto prompt = bookmarked || viewerReview != null ? snapshot.prompt().withViewerState(bookmarked, viewerReview) : snapshot.prompt();
+        return new ETagged<>(prompt, promptETag(snapshot.version(), bookmarked));
+    }
+
+    /**
+     * Answers revalidation from the version columns and the viewer's bookmark alone, without loading the detail.
+     */
+    @Transactional(readOnly = true)
+    public String getPromptETag(UUID promptId, UserDetails userDetails) {
+        PromptVersionRow version = promptRepository.findVersionById(promptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        User currentUser = getOptionalUser(userDetails);
-        return promptMapper.toDto(prompt, currentUser);
+        boolean bookmarked = userDetails != null && userRepository.existsBookmark(userDetails.getUsername(), promptId);
+        return promptETag(version, bookmarked);
+    }
+
+    public void recordView(UUID promptId) {
+        promptViewCounter.record(promptId);
+    }
+
+    /**
+     * Weak because the body also carries the view count, which moves on every flush and is deliberately not
+     * part of the version.
+     */
+    private static String promptETag(PromptVersionRow version, boolean bookmarked) {
+        return ETags.weak("p", version.updatedAt(), version.ratingCount(), version.ratingSum(), version.lastReviewUpdatedAt(), bookmarked);
     }
 
     @Transactional
@@ -82,7 +221,8 @@ public class PromptService {
         prompt.setCategory(request.category());
         prompt.setAuthor(user);
         Prompt savedPrompt = promptRepository.saveAndFlush(prompt);
-        return promptMapper.toDto(savedPrompt, user);
+        eventPublisher.publishEvent(PromptSavedEvent.of(savedPrompt, true));
+        return promptMapper.toDto(savedPrompt, 0, false);
     }
 
     @Transactional
@@ -99,21 +239,66 @@ public class PromptService {
         prompt.setTargetAiModel(request.model());
         prompt.setCategory(request.category());
         Prompt updatedPrompt = promptRepository.save(prompt);
-        return promptMapper.toDto(updatedPrompt, user);
+        eventPublisher.publishEvent(PromptSavedEvent.of(updatedPrompt, false));
+        return promptMapper.toDto(updatedPrompt, viewCountOf(promptId), isBookmarkedBy(user, promptId));
     }
 
     @Transactional
     public PromptDto updatePromptTags(UUID promptId, Set<String> tagNames, UserDetails userDetails) throws AccessDeniedException {
+        User user = getTagEditor(promptId, userDetails);
+        Map<String, UUID> requestedTags = tagService.findOrCreateTagIds(tagNames);
+        Map<String, UUID> currentTags = promptTagJdbcRepository.findTagIds(promptId);
+        Map<String, UUID> addedTags = new HashMap<>(requestedTags);
+        addedTags.keySet().removeAll(currentTags.keySet());
+        Map<String, UUID> removedTags = new HashMap<>(currentTags);
+        removedTags.keySet().removeAll(requestedTags.keySet());
+        return applyTagChanges(promptId, user, addedTags, removedTags);
+    }
+
+    @Transactional
+    public PromptDto patchPromptTags(UUID promptId, PatchPromptTagsRequest request, UserDetails userDetails) throws AccessDeniedException {
+        User user = getTagEditor(promptId, userDetails);
+        Map<String, UUID> requestedTags = tagService.findOrCreateTagIds(request.add());
+        Map<String, UUID> currentTags = promptTagJdbcRepository.findTagIds(promptId);
+        Map<String, UUID> addedTags = new HashMap<>(requestedTags);
+        addedTags.keySet().removeAll(currentTags.keySet());
+        Map<String, UUID> removedTags = new HashMap<>();
+        if (request.remove() != null) {
+            for (String tagName : request.remove()) {
+                String normalizedName = tagName.toLowerCase();
+                if (currentTags.containsKey(normalizedName) && !requestedTags.containsKey(normalizedName)) {
+                    removedTags.put(normalizedName, currentTags.get(normalizedName));
+                }
+            }
+        }
+        return applyTagChanges(promptId, user, addedTags, removedTags);
+    }
+
+    private User getTagEditor(UUID promptId, UserDetails userDetails) {
         User user = getUserFromDetails(userDetails);
-        Prompt prompt = promptRepository.findByIdWithAuthorAndTags(promptId)
+        UUID authorId = promptRepository.findAuthorIdById(promptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        if (!prompt.getAuthor().getId().equals(user.getId())) {
+        if (!authorId.equals(user.getId())) {
             throw new AccessDeniedException("You do not have permission to edit tags for this prompt.");
         }
-        Set<Tag> managedTags = tagService.findOrCreateTags(tagNames);
-        prompt.setTags(managedTags);
-        Prompt savedPrompt = promptRepository.save(prompt);
-        return promptMapper.toDto(savedPrompt, user);
+        return user;
+    }
+
+    private PromptDto applyTagChanges(UUID promptId, User user, Map<String, UUID> addedTags, Map<String, UUID> removedTags) {
+        promptTagJdbcRepository.insert(promptId, addedTags.values());
+        promptTagJdbcRepository.delete(promptId, removedTags.values());
+        boolean changed = !addedTags.isEmpty() || !removedTags.isEmpty();
+        if (changed) {
+            // Tag rows are written directly, so bump the prompt's version for ETags and summaries by hand
+            promptJdbcRepository.touchUpdatedAt(promptId, Instant.now().truncatedTo(ChronoUnit.MICROS));
+        }
+        Prompt prompt = promptRepository.findByIdWithAuthorAndTags(promptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
+        if (changed) {
+            eventPublisher.publishEvent(PromptSavedEvent.of(prompt, false));
+            eventPublisher.publishEvent(new PromptTagsChangedEvent(promptId, addedTags, removedTags.keySet()));
+        }
+        return promptMapper.toDto(prompt, viewCountOf(promptId), isBookmarkedBy(user, promptId));
     }
 
     @Transactional
@@ -124,44 +309,91 @@ public class PromptService {
         if (!prompt.getAuthor().getId().equals(user.getId())) {
             throw new AccessDeniedException("You do not have permission to delete this prompt.");
         }
+        publishTagsRemoved(prompt);
+        // Published before the delete, so in-transaction listeners still see the prompt's memberships
+        eventPublisher.publishEvent(new PromptDeletedEvent(promptId));
         promptRepository.delete(prompt);
     }
 
     @Transactional
     public void addBookmark(UUID promptId, String username) {
-        User user = userRepository.findByUsernameWithBookmarks(username)
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        Prompt prompt = promptRepository.findById(promptId)
-                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        user.getBookmarkedPrompts().add(prompt);
+        if (!promptRepository.existsById(promptId)) {
+            throw new ResourceNotFoundException("Prompt not found with id: " + promptId);
+        }
+        if (bookmarkJdbcRepository.insertBookmark(user.getId(), promptId)) {
+            eventPublisher.publishEvent(new PromptActivityEvent(promptId, PromptActivityEvent.Type.BOOKMARK));
+            eventPublisher.publishEvent(new UserBookmarksChangedEvent(user.getId(), List.of(promptId)));
+        }
+    }
+
+    @Transactional
+    public int addBookmarks(List<UUID> promptIds, String username) {
+        if (promptIds.size() > MAX_BULK_BOOKMARKS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_BOOKMARKS + " prompts can be bookmarked at once.");
+        }
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        if (promptIds.isEmpty()) {
+            return 0;
+        }
+        List<UUID> newBookmarkIds = bookmarkJdbcRepository.insertBookmarks(user.getId(), promptIds);
+        if (newBookmarkIds.isEmpty()) {
+            return 0;
+        }
+        for (UUID promptId : newBookmarkIds) {
+            eventPublisher.publishEvent(new PromptActivityEvent(promptId, PromptActivityEvent.Type.BOOKMARK));
+        }
+        eventPublisher.publishEvent(new UserBookmarksChangedEvent(user.getId(), newBookmarkIds));
+        return newBookmarkIds.size();
     }
 
     @Transactional
     public void removeBookmark(UUID promptId, String username) {
-        User user = userRepository.findByUsernameWithBookmarks(username)
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-        Prompt prompt = promptRepository.findById(promptId)
-                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
-        user.getBookmarkedPrompts().remove(prompt);
+        if (userRepository.deleteBookmark(user.getId(), promptId) > 0) {
+            eventPublisher.publishEvent(new UserBookmarksChangedEvent(user.getId(), List.of(promptId)));
+        } else if (!promptRepository.existsById(promptId)) {
+            throw new ResourceNotFoundException("Prompt not found with id: " + promptId);
+        }
     }
 
     @Transactional(readOnly = true)
-    public Page<PromptDto> getBookmarkedPrompts(String username, int page, int size) {
+    public Page<PromptSummaryDto> getBookmarkedPrompts(String username, int page, int size) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Prompt> promptPage = promptRepository.findByBookmarkedByUsers_Username(username, pageable);
-        return promptPage.map(prompt -> promptMapper.toDto(prompt, user));
+        Page<UUID> idPage = promptRepository.findBookmarkedIdsByUsername(username, pageable);
+        return promptSummaryService.getSummaryPage(idPage, user);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<PromptSummaryDto> getBookmarkedPromptsByCursor(String username, String cursor, int size) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<UUID> slice = promptRepository.findKeysetPageBookmarkedBy(username, position.createdAt(), position.id(), cursorPageable(size));
+        return toCursorPage(slice, user);
     }
 
     @Transactional(readOnly = true)
-    public Page<PromptDto> getPromptsByAuthorUsername(String username, int page, int size, UserDetails userDetails) {
+    public Page<PromptSummaryDto> getPromptsByAuthorUsername(String username, int page, int size, UserDetails userDetails) {
         userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found with username: " + username));
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Prompt> promptPage = promptRepository.findByAuthor_Username(username, pageable);
-        User currentUser = getOptionalUser(userDetails);
-        return promptPage.map(prompt -> promptMapper.toDto(prompt, currentUser));
+        Page<UUID> idPage = promptRepository.findIdsByAuthorUsername(username, pageable);
+        return promptSummaryService.getSummaryPage(idPage, getOptionalUser(userDetails));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<PromptSummaryDto> getPromptsByAuthorUsernameByCursor(String username, String cursor, int size, UserDetails userDetails) {
+        userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with username: " + username));
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Slice<UUID> slice = promptRepository.findKeysetPageByAuthorUsername(username, position.createdAt(), position.id(), cursorPageable(size));
+        return toCursorPage(slice, getOptionalUser(userDetails));
     }
 
     @Transactional(readOnly = true)
@@ -173,13 +405,20 @@ public class PromptService {
             promptsPage = promptRepository.findAllWithAuthorAndTags(pageable);
         }
         User currentAdminUser = getOptionalUser(principal);
-        return promptsPage.map(prompt -> promptMapper.toDto(prompt, currentAdminUser));
+        List<UUID> promptIds = promptsPage.map(Prompt::getId).getContent();
+        Set<UUID> bookmarkedIds = promptSummaryService.findBookmarkedIds(currentAdminUser, promptIds);
+        Map<UUID, Long> viewCounts = promptRepository.findViewCountsByIds(promptIds);
+        return promptsPage.map(prompt -> promptMapper.toDto(prompt, viewCounts.getOrDefault(prompt.getId(), 0L),
+                bookmarkedIds.contains(prompt.getId())));
     }
 
     @Transactional
     public void deletePromptAsAdmin(UUID promptId) {
         Prompt promptToDelete = promptRepository.findById(promptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId));
+        publishTagsRemoved(promptToDelete);
+        // Published before the delete, so in-transaction listeners still see the prompt's memberships
+        eventPublisher.publishEvent(new PromptDeletedEvent(promptId));
         promptRepository.delete(promptToDelete);
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.promptdex.api.service;
+
+import com.promptdex.api.dto.PromptSummaryDto;
+import com.promptdex.api.mapper.PromptMapper;
+import com.promptdex.api.model.User;
+import com.promptdex.api.repository.PromptRepository;
+import com.promptdex.api.repository.PromptSummaryRow;
+import com.promptdex.api.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class PromptSummaryService {
+    private final PromptRepository promptRepository;
+    private final UserRepository userRepository;
+    private final PromptMapper promptMapper;
+
+    public PromptSummaryService(PromptRepository promptRepository, UserRepository userRepository, PromptMapper promptMapper) {
+        this.promptRepository = promptRepository;
+        this.userRepository = userRepository;
+        this.promptMapper = promptMapper;
+    }
+
+    public Set<UUID> findBookmarkedIds(User viewer, List<UUID> promptIds) {
+        if (viewer == null || viewer.getId() == null || promptIds.isEmpty()) {
+            return Set.of();
+        }
+        return userRepository.findBookmarkedPromptIdsAmong(viewer.getId(), promptIds);
+    }
+
+    public Page<PromptSummaryDto> getSummaryPage(Page<UUID> idPage, User viewer) {
+        return new PageImpl<>(getSummaries(idPage.getContent(), viewer), idPage.getPageable(), idPage.getTotalElements());
+    }
+
+    public List<PromptSummaryDto> getSummaries(List<UUID> promptIds, User viewer) {
+        if (promptIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<UUID, PromptSummaryRow> rowsById = promptRepository.findSummaryRowsByIdIn(promptIds).stream()
+                .collect(Collectors.toMap(PromptSummaryRow::id, row -> row));
+        Map<UUID, List<String>> tagsByPromptId = new HashMap<>();
+        for (Object[] row : promptRepository.findTagNamesByPromptIdIn(promptIds)) {
+            tagsByPromptId.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        Set<UUID> bookmarkedIds = findBookmarkedIds(viewer, promptIds);
+        List<PromptSummaryDto> summaries = new ArrayList<>(promptIds.size());
+        for (UUID promptId : promptIds) {
+            PromptSummaryRow row = rowsById.get(promptId);
+            if (row != null) {
+                summaries.add(promptMapper.toSummaryDto(
+                        row,
+                        tagsByPromptId.getOrDefault(promptId, Collections.emptyList()),
+                        bookmarkedIds.contains(promptId)
+                ));
+            }
+        }
+        return summaries;
+    }
+}
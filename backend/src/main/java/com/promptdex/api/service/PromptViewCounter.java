@@ -0,0 +1,105 @@
+package com.promptdex.api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class PromptViewCounter {
+    private static final Logger logger = LoggerFactory.getLogger(PromptViewCounter.class);
+    private static final String FLUSH_SQL = "UPDATE prompts SET view_count = view_count + ? WHERE id = ?";
+    private static final int IDLE_FLUSHES_BEFORE_REMOVAL = 2;
+    private final ConcurrentMap<UUID, PendingViews> pendingViews = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+
+    public PromptViewCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(UUID promptId) {
+        add(promptId, 1);
+    }
+
+    private void add(UUID promptId, long views) {
+        while (views > 0) {
+            PendingViews pending = pendingViews.get(promptId);
+            if (pending == null) {
+                pending = pendingViews.computeIfAbsent(promptId, id -> new PendingViews());
+            }
+            pending.add(views);
+            if (!pending.retired) {
+                return;
+            }
+            // flush() dropped this counter meanwhile; take back whatever it did not drain and count it again
+            views = pending.drain();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}", initialDelayString = "${app.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> deltas = new ArrayList<>();
+        for (Map.Entry<UUID, PendingViews> entry : pendingViews.entrySet()) {
+            PendingViews views = entry.getValue();
+            long delta = views.drain();
+            if (delta > 0) {
+                views.idleFlushes = 0;
+            } else if (++views.idleFlushes >= IDLE_FLUSHES_BEFORE_REMOVAL && pendingViews.remove(entry.getKey(), views)) {
+                views.retired = true;
+                delta = views.drain();
+            }
+            if (delta > 0) {
+                deltas.add(new Object[]{delta, entry.getKey()});
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        deltas.sort(Comparator.comparing(row -> (UUID) row[1]));
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, deltas);
+        } catch (DataAccessException ex) {
+            logger.warn("Could not flush view counts for {} prompts, retrying on the next run", deltas.size(), ex);
+            for (Object[] row : deltas) {
+                add((UUID) row[1], (Long) row[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingPromptCount() {
+        return pendingViews.size();
+    }
+
+    /**
+     * Drained by subtracting what was read rather than reset, so increments racing a flush carry over to the next one.
+     * Recording stays a plain increment; only a recorder that finds its counter retired after incrementing takes the
+     * lock, to reclaim views that landed after the final drain.
+     */
+    private static final class PendingViews extends LongAdder {
+        private volatile boolean retired;
+        private int idleFlushes;
+
+        synchronized long drain() {
+            long views = sum();
+            add(-views);
+            return views;
+        }
+    }
+}
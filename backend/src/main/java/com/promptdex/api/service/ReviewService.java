@@ -1,38 +1,56 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.CreateReviewRequest;
+import com.promptdex.api.dto.CursorPageDto;
 import com.promptdex.api.dto.ReviewAdminViewDto;
 import com.promptdex.api.dto.ReviewDto;
 import com.promptdex.api.dto.UpdateReviewRequest;
+import com.promptdex.api.event.PromptActivityEvent;
+import com.promptdex.api.event.PromptReviewsChangedEvent;
 import com.promptdex.api.exception.ResourceNotFoundException;
 import com.promptdex.api.exception.ReviewAlreadyExistsException;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.Review;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.PromptJdbcRepository;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.ReviewRepository;
 import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.util.ReviewCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class ReviewService {
+    public static final String SORT_NEWEST = "newest";
+    public static final String SORT_RATING = "rating";
+    private static final int MAX_REVIEW_PAGE_SIZE = 50;
     private final ReviewRepository reviewRepository;
     private final PromptRepository promptRepository;
+    private final PromptJdbcRepository promptJdbcRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository, PromptRepository promptRepository, UserRepository userRepository) {
+    public ReviewService(ReviewRepository reviewRepository, PromptRepository promptRepository, PromptJdbcRepository promptJdbcRepository,
+                         UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.promptRepository = promptRepository;
+        this.promptJdbcRepository = promptJdbcRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     private User getUserFromDetails(UserDetails userDetails) {
@@ -40,12 +58,42 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + userDetails.getUsername()));
     }
 
-    private void updatePromptAverageRating(UUID promptId) {
-        Prompt prompt = promptRepository.findById(promptId)
-                .orElseThrow(() -> new ResourceNotFoundException("Prompt not found with id: " + promptId + " while updating average rating."));
-        Double averageRating = promptRepository.findAverageRatingByPromptId(promptId).orElse(null);
-        prompt.setAverageRating(averageRating);
-        promptRepository.save(prompt);
+    private ReviewDto toDto(Review review) {
+        return new ReviewDto(review.getId(), review.getRating(), review.getComment(), review.getUser().getUsername(), review.getCreatedAt(), review.getUpdatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> getReviewsForPrompt(UUID promptId, String sort, String cursor, int size) {
+        if (!promptRepository.existsById(promptId)) {
+            throw new ResourceNotFoundException("Prompt not found with id: " + promptId);
+        }
+        return findReviewPage(promptId, sort, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> findReviewPage(UUID promptId, String sort, String cursor, int size) {
+        ReviewCursor position = ReviewCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(size, MAX_REVIEW_PAGE_SIZE)));
+        Slice<Review> slice;
+        if (sort == null || SORT_NEWEST.equalsIgnoreCase(sort)) {
+            slice = reviewRepository.findNewestByPromptId(promptId, position.createdAt(), position.id(), pageable);
+        } else if (SORT_RATING.equalsIgnoreCase(sort)) {
+            slice = reviewRepository.findHighestRatedByPromptId(promptId, position.rating(), position.createdAt(), position.id(), pageable);
+        } else {
+            throw new IllegalArgumentException("Unsupported review sort: " + sort + ". Use 'newest' or 'rating'.");
+        }
+        List<ReviewDto> content = slice.getContent().stream().map(this::toDto).toList();
+        String nextCursor = null;
+        if (slice.hasNext() && !slice.getContent().isEmpty()) {
+            Review last = slice.getContent().get(slice.getContent().size() - 1);
+            nextCursor = new ReviewCursor(last.getRating(), last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDto<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReviewDto> findViewerReview(UUID promptId, String username) {
+        return reviewRepository.findByPromptIdAndUsername(promptId, username).map(this::toDto);
     }
 
     public ReviewDto createReview(UUID promptId, CreateReviewRequest request, UserDetails currentUser) {
@@ -64,8 +112,10 @@ public class ReviewService {
         review.setRating(request.rating());
         review.setComment(request.comment());
         Review savedReview = reviewRepository.saveAndFlush(review);
-        updatePromptAverageRating(promptId);
-        return new ReviewDto(savedReview.getId(), savedReview.getRating(), savedReview.getComment(), savedReview.getUser().getUsername(), savedReview.getCreatedAt(), savedReview.getUpdatedAt());
+        promptJdbcRepository.applyRatingChange(promptId, savedReview.getRating(), 0);
+        eventPublisher.publishEvent(new PromptActivityEvent(promptId, PromptActivityEvent.Type.REVIEW));
+        eventPublisher.publishEvent(new PromptReviewsChangedEvent(promptId));
+        return toDto(savedReview);
     }
 
     public ReviewDto updateReview(UUID reviewId, UpdateReviewRequest request, UserDetails currentUser) {
@@ -75,11 +125,15 @@ public class ReviewService {
         if (!review.getUser().getId().equals(user.getId())) {
             throw new AccessDeniedException("You do not have permission to edit this review.");
         }
+        int previousRating = review.getRating();
         review.setRating(request.rating());
         review.setComment(request.comment());
         Review updatedReview = reviewRepository.save(review);
-        updatePromptAverageRating(updatedReview.getPrompt().getId());
-        return new ReviewDto(updatedReview.getId(), updatedReview.getRating(), updatedReview.getComment(), updatedReview.getUser().getUsername(), updatedReview.getCreatedAt(), updatedReview.getUpdatedAt());
+        if (previousRating != updatedReview.getRating()) {
+            promptJdbcRepository.applyRatingChange(updatedReview.getPrompt().getId(), updatedReview.getRating(), previousRating);
+        }
+        eventPublisher.publishEvent(new PromptReviewsChangedEvent(updatedReview.getPrompt().getId()));
+        return toDto(updatedReview);
     }
 
     public void deleteReview(UUID reviewId, UserDetails currentUser) {
@@ -91,7 +145,8 @@ public class ReviewService {
         }
         UUID promptId = review.getPrompt().getId();
         reviewRepository.delete(review);
-        updatePromptAverageRating(promptId);
+        promptJdbcRepository.applyRatingChange(promptId, 0, review.getRating());
+        eventPublisher.publishEvent(new PromptReviewsChangedEvent(promptId));
     }
 
     @Transactional(readOnly = true)
@@ -120,6 +175,7 @@ public class ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
         UUID promptId = review.getPrompt().getId();
         reviewRepository.delete(review);
-        updatePromptAverageRating(promptId);
+        promptJdbcRepository.applyRatingChange(promptId, 0, review.getRating());
+        eventPublisher.publishEvent(new PromptReviewsChangedEvent(promptId));
     }
 }
\ No newline at end of file
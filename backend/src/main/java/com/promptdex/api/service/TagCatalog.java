@@ -0,0 +1,131 @@
+package com.promptdex.api.service;
+
+import com.promptdex.api.dto.TagUsageDto;
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class TagCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(TagCatalog.class);
+    private static final Comparator<TagUsageDto> BY_USAGE = Comparator.comparingLong(TagUsageDto::promptCount).reversed()
+            .thenComparing(TagUsageDto::name);
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+    private final TagRepository tagRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String etagPrefix = Long.toHexString(System.currentTimeMillis());
+    private final Map<String, TagEntry> entries = new HashMap<>();
+    private long version;
+    private long appliedChanges;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of(), List.of(), 0);
+
+    public TagCatalog(TagRepository tagRepository, PlatformTransactionManager transactionManager) {
+        this.tagRepository = tagRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * An AFTER_COMMIT change applied while the query runs may or may not be part of its result, so the result
+     * is only swapped in when no change arrived in between. Otherwise the query is repeated; if changes keep
+     * arriving, the incrementally maintained entries stay until the next reload.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tags.catalog-reload-interval-ms:600000}", initialDelayString = "${app.tags.catalog-reload-interval-ms:600000}")
+    public void reload() {
+        for (int attempt = 1; attempt <= MAX_RELOAD_ATTEMPTS; attempt++) {
+            long changesBefore;
+            synchronized (this) {
+                changesBefore = appliedChanges;
+            }
+            List<Object[]> rows = transactionTemplate.execute(status -> tagRepository.findTagUsage());
+            synchronized (this) {
+                if (appliedChanges == changesBefore) {
+                    entries.clear();
+                    for (Object[] row : rows) {
+                        entries.put((String) row[1], new TagEntry((UUID) row[0], ((Number) row[2]).longValue()));
+                    }
+                    publish();
+                    logger.debug("Loaded {} tags into the tag catalog", rows.size());
+                    return;
+                }
+            }
+        }
+        logger.debug("Tags kept changing during {} catalog reloads, keeping the current catalog", MAX_RELOAD_ATTEMPTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onPromptTagsChanged(PromptTagsChangedEvent event) {
+        appliedChanges++;
+        event.addedTags().forEach((name, tagId) -> entries.computeIfAbsent(name, key -> new TagEntry(tagId, 0)).promptCount++);
+        for (String name : event.removedTags()) {
+            TagEntry entry = entries.get(name);
+            if (entry != null && entry.promptCount > 0) {
+                entry.promptCount--;
+            }
+        }
+        publish();
+    }
+
+    public Optional<UUID> findTagId(String name) {
+        return Optional.ofNullable(snapshot.tagIds().get(name));
+    }
+
+    public List<String> names() {
+        return snapshot.names();
+    }
+
+    public List<TagUsageDto> popular(int limit) {
+        List<TagUsageDto> byUsage = snapshot.byUsage();
+        return byUsage.subList(0, Math.min(Math.max(limit, 0), byUsage.size()));
+    }
+
+    public String etag() {
+        return "\"" + etagPrefix + "-" + snapshot.version() + "\"";
+    }
+
+    private void publish() {
+        Map<String, UUID> tagIds = new HashMap<>(entries.size());
+        List<TagUsageDto> byUsage = new ArrayList<>(entries.size());
+        entries.forEach((name, entry) -> {
+            tagIds.put(name, entry.tagId);
+            if (entry.promptCount > 0) {
+                byUsage.add(new TagUsageDto(name, entry.promptCount));
+            }
+        });
+        byUsage.sort(BY_USAGE);
+        List<String> names = new ArrayList<>(tagIds.keySet());
+        names.sort(Comparator.naturalOrder());
+        snapshot = new Snapshot(Map.copyOf(tagIds), List.copyOf(names), List.copyOf(byUsage), ++version);
+    }
+
+    private static final class TagEntry {
+        private final UUID tagId;
+        private long promptCount;
+
+        private TagEntry(UUID tagId, long promptCount) {
+            this.tagId = tagId;
+            this.promptCount = promptCount;
+        }
+    }
+
+    private record Snapshot(Map<String, UUID> tagIds, List<String> names, List<TagUsageDto> byUsage, long version) {
+    }
+}
@@ -1,51 +1,54 @@
 package com.promptdex.api.service;
 
-import com.promptdex.api.model.Tag;
-import com.promptdex.api.repository.TagRepository;
-import org.springframework.data.domain.Sort;
+import com.promptdex.api.dto.TagUsageDto;
+import com.promptdex.api.repository.TagJdbcRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @Service
 public class TagService {
-    private final TagRepository tagRepository;
+    private static final int MAX_POPULAR_TAGS = 100;
+    private final TagJdbcRepository tagJdbcRepository;
+    private final TagCatalog tagCatalog;
 
-    public TagService(TagRepository tagRepository) {
-        this.tagRepository = tagRepository;
+    public TagService(TagJdbcRepository tagJdbcRepository, TagCatalog tagCatalog) {
+        this.tagJdbcRepository = tagJdbcRepository;
+        this.tagCatalog = tagCatalog;
     }
 
-    @Transactional(readOnly = true)
     public List<String> getAllTagNames() {
-        return tagRepository.findAll(Sort.by(Sort.Direction.ASC, "name")).stream()
-                .map(Tag::getName)
-                .collect(Collectors.toList());
+        return tagCatalog.names();
+    }
+
+    public List<TagUsageDto> getPopularTags(int limit) {
+        return tagCatalog.popular(Math.max(1, Math.min(limit, MAX_POPULAR_TAGS)));
+    }
+
+    public String getCatalogETag() {
+        return tagCatalog.etag();
     }
 
     @Transactional
-    public Set<Tag> findOrCreateTags(Set<String> tagNames) {
+    public Map<String, UUID> findOrCreateTagIds(Set<String> tagNames) {
+        Map<String, UUID> tagIds = new HashMap<>();
         if (tagNames == null || tagNames.isEmpty()) {
-            return new HashSet<>();
+            return tagIds;
+        }
+        Set<String> unknownTagNames = new HashSet<>();
+        for (String tagName : tagNames) {
+            String normalizedName = tagName.toLowerCase();
+            tagCatalog.findTagId(normalizedName).ifPresentOrElse(id -> tagIds.put(normalizedName, id), () -> unknownTagNames.add(normalizedName));
         }
-        Set<String> normalizedTagNames = tagNames.stream()
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
-        Set<Tag> existingTags = tagRepository.findByNameInIgnoreCase(normalizedTagNames);
-        Set<String> existingTagNames = existingTags.stream()
-                .map(Tag::getName)
-                .collect(Collectors.toSet());
-        Set<Tag> newTagsToCreate = normalizedTagNames.stream()
-                .filter(name -> !existingTagNames.contains(name))
-                .map(name -> Tag.builder().name(name).build())
-                .collect(Collectors.toSet());
-        if (!newTagsToCreate.isEmpty()) {
-            tagRepository.saveAll(newTagsToCreate);
-            existingTags.addAll(newTagsToCreate);
+        if (!unknownTagNames.isEmpty()) {
+            tagIds.putAll(tagJdbcRepository.upsertTagIds(unknownTagNames));
         }
-        return existingTags;
+        return tagIds;
     }
-}
\ No newline at end of file
+}
@@ -2,10 +2,17 @@ package com.promptdex.api.service;
 
 import com.promptdex.api.dto.ProfileDto;
 import com.promptdex.api.dto.UserAdminViewDto;
+import com.promptdex.api.event.UserFollowedEvent;
+import com.promptdex.api.event.UserRolesChangedEvent;
+import com.promptdex.api.event.UserUnfollowedEvent;
 import com.promptdex.api.exception.ResourceNotFoundException;
 import com.promptdex.api.mapper.UserMapper;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.FollowJdbcRepository;
+import com.promptdex.api.repository.ProfileVersionRow;
 import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.util.ETags;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,47 +28,69 @@ import java.util.UUID;
 @Transactional
 public class UserService {
     private final UserRepository userRepository;
+    private final FollowJdbcRepository followJdbcRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, FollowJdbcRepository followJdbcRepository, UserMapper userMapper,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.followJdbcRepository = followJdbcRepository;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
     public ProfileDto getProfile(String username, UserDetails principal) {
         User targetUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        User currentUser = null;
-        if (principal != null) {
-            currentUser = userRepository.findByUsernameWithFollowing(principal.getUsername())
-                    .orElseGet(() -> userRepository.findByUsername(principal.getUsername()).orElse(null));
-        }
-        return userMapper.toProfileDto(targetUser, currentUser);
+        boolean isFollowed = principal != null && userRepository.existsFollow(principal.getUsername(), targetUser.getId());
+        return userMapper.toProfileDto(targetUser, isFollowed);
+    }
+
+    @Transactional(readOnly = true)
+    public String getProfileETag(String username, UserDetails principal) {
+        ProfileVersionRow version = userRepository.findProfileVersionByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+        boolean isFollowed = principal != null && userRepository.existsFollow(principal.getUsername(), version.id());
+        return ETags.strong("u", version.followersCount(), version.followingCount(), isFollowed);
     }
 
     public ProfileDto followUser(String usernameToFollow, UserDetails principal) {
         if (principal.getUsername().equals(usernameToFollow)) {
             throw new IllegalArgumentException("You cannot follow yourself.");
         }
-        User currentUser = userRepository.findByUsernameWithFollowing(principal.getUsername())
+        User currentUser = userRepository.findByUsername(principal.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found: " + principal.getUsername()));
         User userToFollow = userRepository.findByUsername(usernameToFollow)
                 .orElseThrow(() -> new ResourceNotFoundException("User to follow not found: " + usernameToFollow));
-        currentUser.follow(userToFollow);
-        return userMapper.toProfileDto(userToFollow, currentUser);
+        // Counters only move when this call wrote the row, so a concurrent duplicate follow cannot count twice
+        if (!followJdbcRepository.insertFollow(currentUser.getId(), userToFollow.getId())) {
+            return userMapper.toProfileDto(userToFollow, true);
+        }
+        userRepository.adjustFollowCounts(currentUser.getId(), userToFollow.getId(), 1);
+        eventPublisher.publishEvent(new UserFollowedEvent(currentUser.getId(), userToFollow.getId()));
+        return userMapper.toProfileDto(reload(userToFollow), true);
     }
 
     public ProfileDto unfollowUser(String usernameToUnfollow, UserDetails principal) {
         if (principal.getUsername().equals(usernameToUnfollow)) {
             throw new IllegalArgumentException("You cannot unfollow yourself.");
         }
-        User currentUser = userRepository.findByUsernameWithFollowing(principal.getUsername())
+        User currentUser = userRepository.findByUsername(principal.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found: " + principal.getUsername()));
         User userToUnfollow = userRepository.findByUsername(usernameToUnfollow)
                 .orElseThrow(() -> new ResourceNotFoundException("User to unfollow not found: " + usernameToUnfollow));
-        currentUser.unfollow(userToUnfollow);
-        return userMapper.toProfileDto(userToUnfollow, currentUser);
+        if (userRepository.deleteFollow(currentUser.getId(), userToUnfollow.getId()) == 0) {
+            return userMapper.toProfileDto(userToUnfollow, false);
+        }
+        userRepository.adjustFollowCounts(currentUser.getId(), userToUnfollow.getId(), -1);
+        eventPublisher.publishEvent(new UserUnfollowedEvent(currentUser.getId(), userToUnfollow.getId()));
+        return userMapper.toProfileDto(reload(userToUnfollow), false);
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElse(user);
     }
 
     @Transactional(readOnly = true)
@@ -87,6 +116,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         userToUpdate.setRoles(newRoles);
         User updatedUser = userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new UserRolesChangedEvent(updatedUser.getId(), updatedUser.getUsername()));
         return new UserAdminViewDto(
                 updatedUser.getId(),
                 updatedUser.getUsername(),
@@ -0,0 +1,66 @@
+package com.promptdex.api.trending;
+
+import com.promptdex.api.event.PromptActivityEvent;
+import com.promptdex.api.event.PromptDeletedEvent;
+import com.promptdex.api.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Component
+public class TrendingActivityListener {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingActivityListener.class);
+    private final TrendingTracker trendingTracker;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int windowHours;
+
+    public TrendingActivityListener(TrendingTracker trendingTracker, ReviewRepository reviewRepository, PlatformTransactionManager transactionManager,
+                                    @Value("${app.trending.window-hours:72}") int windowHours) {
+        this.trendingTracker = trendingTracker;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.windowHours = windowHours;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Instant now = Instant.now();
+        Instant since = now.minus(Duration.ofHours(windowHours));
+        Integer loaded = transactionTemplate.execute(status -> {
+            int[] count = {0};
+            try (Stream<Object[]> rows = reviewRepository.streamReviewActivitySince(since)) {
+                rows.forEach(row -> {
+                    trendingTracker.record((UUID) row[0], PromptActivityEvent.Type.REVIEW.weight(), (Instant) row[1]);
+                    count[0]++;
+                });
+            }
+            return count[0];
+        });
+        trendingTracker.refresh(now);
+        logger.info("Loaded {} recent reviews into trending scores", loaded);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptActivity(PromptActivityEvent event) {
+        trendingTracker.record(event.promptId(), event.type().weight(), event.occurredAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPromptDeleted(PromptDeletedEvent event) {
+        trendingTracker.remove(event.promptId());
+    }
+}
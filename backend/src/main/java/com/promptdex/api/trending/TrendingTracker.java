@@ -0,0 +1,127 @@
+package com.promptdex.api.trending;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class TrendingTracker {
+    private static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+    private static final Comparator<ScoredPrompt> BY_SCORE = Comparator
+            .comparingDouble(ScoredPrompt::score)
+            .thenComparing(ScoredPrompt::promptId, Comparator.reverseOrder());
+
+    private final ConcurrentMap<UUID, ActivityBuckets> activity = new ConcurrentHashMap<>();
+    private final int windowBuckets;
+    private final double decayPerBucket;
+    private final int capacity;
+    private volatile List<UUID> ranking = List.of();
+
+    public TrendingTracker(@Value("${app.trending.window-hours:72}") int windowHours,
+                           @Value("${app.trending.half-life-hours:12}") double halfLifeHours,
+                           @Value("${app.trending.capacity:100}") int capacity) {
+        this.windowBuckets = Math.max(1, windowHours);
+        this.decayPerBucket = Math.pow(0.5, 1.0 / halfLifeHours);
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public void record(UUID promptId, int weight, Instant occurredAt) {
+        long bucket = occurredAt.toEpochMilli() / BUCKET_MILLIS;
+        activity.compute(promptId, (id, buckets) -> {
+            ActivityBuckets target = buckets != null ? buckets : new ActivityBuckets(windowBuckets);
+            target.add(bucket, weight);
+            return target;
+        });
+    }
+
+    public void remove(UUID promptId) {
+        activity.remove(promptId);
+        List<UUID> current = ranking;
+        if (current.contains(promptId)) {
+            List<UUID> updated = new ArrayList<>(current);
+            updated.remove(promptId);
+            ranking = List.copyOf(updated);
+        }
+    }
+
+    public List<UUID> topPromptIds(int limit) {
+        List<UUID> current = ranking;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval-ms:60000}", initialDelayString = "${app.trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        refresh(Instant.now());
+    }
+
+    public void refresh(Instant now) {
+        long currentBucket = now.toEpochMilli() / BUCKET_MILLIS;
+        PriorityQueue<ScoredPrompt> heap = new PriorityQueue<>(capacity + 1, BY_SCORE);
+        double[] score = new double[1];
+        for (UUID promptId : activity.keySet()) {
+            score[0] = 0;
+            activity.computeIfPresent(promptId, (id, buckets) -> {
+                score[0] = buckets.score(currentBucket, windowBuckets, decayPerBucket);
+                return score[0] > 0 ? buckets : null;
+            });
+            if (score[0] <= 0) {
+                continue;
+            }
+            heap.offer(new ScoredPrompt(promptId, score[0]));
+            if (heap.size() > capacity) {
+                heap.poll();
+            }
+        }
+        List<ScoredPrompt> top = new ArrayList<>(heap);
+        top.sort(BY_SCORE.reversed());
+        ranking = top.stream().map(ScoredPrompt::promptId).toList();
+    }
+
+    private record ScoredPrompt(UUID promptId, double score) {
+    }
+
+    private static final class ActivityBuckets {
+        private final long[] bucketIds;
+        private final int[] weights;
+
+        ActivityBuckets(int size) {
+            this.bucketIds = new long[size];
+            this.weights = new int[size];
+            Arrays.fill(bucketIds, Long.MIN_VALUE);
+        }
+
+        void add(long bucket, int weight) {
+            int slot = (int) Math.floorMod(bucket, (long) bucketIds.length);
+            if (bucketIds[slot] != bucket) {
+                if (bucketIds[slot] > bucket) {
+                    return;
+                }
+                bucketIds[slot] = bucket;
+                weights[slot] = 0;
+            }
+            weights[slot] += weight;
+        }
+
+        double score(long currentBucket, int window, double decayPerBucket) {
+            double score = 0;
+            for (int slot = 0; slot < bucketIds.length; slot++) {
+                long age = Math.max(0, currentBucket - bucketIds[slot]);
+                if (weights[slot] > 0 && age < window) {
+                    score += weights[slot] * Math.pow(decayPerBucket, age);
+                }
+            }
+            return score;
+        }
+    }
+}
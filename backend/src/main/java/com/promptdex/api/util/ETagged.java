@@ -0,0 +1,7 @@
+package com.promptdex.api.util;
+
+/**
+ * A representation together with the entity tag computed from the same read.
+ */
+public record ETagged<T>(T body, String etag) {
+}
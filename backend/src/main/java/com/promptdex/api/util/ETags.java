@@ -0,0 +1,44 @@
+package com.promptdex.api.util;
+
+import java.time.Instant;
+import java.util.StringJoiner;
+
+public final class ETags {
+    private ETags() {
+    }
+
+    /**
+     * Builds a strong entity tag from the version components of a representation. Instants are encoded
+     * to the microsecond, which is the precision the timestamps are stored with.
+     */
+    public static String strong(String prefix, Object... parts) {
+        StringJoiner tag = new StringJoiner(".", "\"" + prefix + "-", "\"");
+        for (Object part : parts) {
+            tag.add(encode(part));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Builds a weak entity tag, for representations that carry fields the version components leave out.
+     */
+    public static String weak(String prefix, Object... parts) {
+        return "W/" + strong(prefix, parts);
+    }
+
+    private static String encode(Object part) {
+        if (part == null) {
+            return "_";
+        }
+        if (part instanceof Instant instant) {
+            return Long.toString(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000, 36);
+        }
+        if (part instanceof Long value) {
+            return Long.toString(value, 36);
+        }
+        if (part instanceof Boolean value) {
+            return value ? "1" : "0";
+        }
+        return part.toString();
+    }
+}
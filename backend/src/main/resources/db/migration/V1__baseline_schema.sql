@@ -0,0 +1,99 @@
+-- The schema Hibernate generated with ddl-auto=update before Flyway took over. Databases built that
+-- way are baselined at this version, so everything added since belongs in a later migration.
+
+CREATE TABLE users (
+    id UUID NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    provider VARCHAR(255) DEFAULT 'LOCAL' NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_provider CHECK (provider IN ('LOCAL', 'GOOGLE', 'GITHUB'))
+);
+
+CREATE TABLE user_roles (
+    user_id UUID NOT NULL,
+    role_name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_user_roles PRIMARY KEY (user_id, role_name),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE user_follows (
+    user_id UUID NOT NULL,
+    followed_id UUID NOT NULL,
+    CONSTRAINT pk_user_follows PRIMARY KEY (followed_id, user_id),
+    CONSTRAINT fk_user_follows_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_follows_followed FOREIGN KEY (followed_id) REFERENCES users (id)
+);
+
+CREATE TABLE prompts (
+    id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    prompt_text TEXT NOT NULL,
+    description TEXT,
+    target_ai_model VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    average_rating FLOAT(53),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    author_id UUID NOT NULL,
+    CONSTRAINT pk_prompts PRIMARY KEY (id),
+    CONSTRAINT fk_prompts_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE tags (
+    id UUID NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_tags PRIMARY KEY (id),
+    CONSTRAINT uk_tags_name UNIQUE (name)
+);
+
+CREATE TABLE prompt_tags (
+    prompt_id UUID NOT NULL,
+    tag_id UUID NOT NULL,
+    CONSTRAINT pk_prompt_tags PRIMARY KEY (prompt_id, tag_id),
+    CONSTRAINT fk_prompt_tags_prompt FOREIGN KEY (prompt_id) REFERENCES prompts (id),
+    CONSTRAINT fk_prompt_tags_tag FOREIGN KEY (tag_id) REFERENCES tags (id)
+);
+
+CREATE TABLE user_bookmarks (
+    user_id UUID NOT NULL,
+    prompt_id UUID NOT NULL,
+    CONSTRAINT pk_user_bookmarks PRIMARY KEY (prompt_id, user_id),
+    CONSTRAINT fk_user_bookmarks_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_bookmarks_prompt FOREIGN KEY (prompt_id) REFERENCES prompts (id)
+);
+
+CREATE TABLE reviews (
+    id UUID NOT NULL,
+    rating INTEGER NOT NULL,
+    comment TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    prompt_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    CONSTRAINT pk_reviews PRIMARY KEY (id),
+    CONSTRAINT fk_reviews_prompt FOREIGN KEY (prompt_id) REFERENCES prompts (id),
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE collections (
+    id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    owner_id UUID NOT NULL,
+    CONSTRAINT pk_collections PRIMARY KEY (id),
+    CONSTRAINT fk_collections_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE TABLE collection_prompts (
+    collection_id UUID NOT NULL,
+    prompt_id UUID NOT NULL,
+    CONSTRAINT pk_collection_prompts PRIMARY KEY (collection_id, prompt_id),
+    CONSTRAINT fk_collection_prompts_collection FOREIGN KEY (collection_id) REFERENCES collections (id),
+    CONSTRAINT fk_collection_prompts_prompt FOREIGN KEY (prompt_id) REFERENCES prompts (id)
+);
@@ -0,0 +1,20 @@
+-- Global listing and keyset pages: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_prompts_created_at_id ON prompts (created_at DESC, id DESC);
+-- Author listings, feed materialization and follow backfill
+CREATE INDEX idx_prompts_author_created_at ON prompts (author_id, created_at DESC, id DESC);
+
+-- One review per user and prompt; also serves existsByPrompt_IdAndUser_Id
+CREATE UNIQUE INDEX uk_reviews_prompt_user ON reviews (prompt_id, user_id);
+-- Newest-first review pages
+CREATE INDEX idx_reviews_prompt_created_at ON reviews (prompt_id, created_at DESC, id DESC);
+-- Highest-rated review pages
+CREATE INDEX idx_reviews_prompt_rating ON reviews (prompt_id, rating DESC, created_at DESC, id DESC);
+CREATE INDEX idx_reviews_user ON reviews (user_id);
+
+-- The primary key leads with followed_id (fan-out); this covers the follower side
+CREATE INDEX idx_user_follows_user_followed ON user_follows (user_id, followed_id);
+-- The primary key leads with prompt_id; this covers a user's bookmark listing
+CREATE INDEX idx_user_bookmarks_user_prompt ON user_bookmarks (user_id, prompt_id);
+CREATE INDEX idx_collection_prompts_prompt ON collection_prompts (prompt_id);
+CREATE INDEX idx_prompt_tags_tag_prompt ON prompt_tags (tag_id, prompt_id);
+CREATE INDEX idx_collections_owner_name ON collections (owner_id, name);
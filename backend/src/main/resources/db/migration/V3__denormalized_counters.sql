@@ -0,0 +1,25 @@
+ALTER TABLE users ADD COLUMN followers_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN following_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_sum BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_count BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_1 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_2 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_3 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_4 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE prompts ADD COLUMN rating_5 BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE prompts p SET
+    rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id),
+    rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.prompt_id = p.id),
+    rating_1 = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id AND r.rating = 1),
+    rating_2 = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id AND r.rating = 2),
+    rating_3 = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id AND r.rating = 3),
+    rating_4 = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id AND r.rating = 4),
+    rating_5 = (SELECT COUNT(*) FROM reviews r WHERE r.prompt_id = p.id AND r.rating = 5),
+    average_rating = (SELECT AVG(CAST(r.rating AS DOUBLE PRECISION)) FROM reviews r WHERE r.prompt_id = p.id)
+WHERE EXISTS (SELECT 1 FROM reviews r WHERE r.prompt_id = p.id);
+
+UPDATE users u SET
+    followers_count = (SELECT COUNT(*) FROM user_follows f WHERE f.followed_id = u.id),
+    following_count = (SELECT COUNT(*) FROM user_follows f WHERE f.user_id = u.id)
+WHERE EXISTS (SELECT 1 FROM user_follows f WHERE f.followed_id = u.id OR f.user_id = u.id);
@@ -0,0 +1 @@
+ALTER TABLE prompts ADD COLUMN view_count BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,16 @@
+CREATE TABLE feed_timelines (
+    user_id UUID NOT NULL,
+    materialized_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_feed_timelines PRIMARY KEY (user_id)
+);
+
+CREATE TABLE feed_entries (
+    user_id UUID NOT NULL,
+    prompt_id UUID NOT NULL,
+    author_id UUID NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_feed_entries PRIMARY KEY (prompt_id, user_id)
+);
+
+CREATE INDEX idx_feed_entries_user_created ON feed_entries (user_id, created_at, prompt_id);
+CREATE INDEX idx_feed_entries_prompt ON feed_entries (prompt_id);
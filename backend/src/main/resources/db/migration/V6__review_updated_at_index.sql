@@ -0,0 +1,2 @@
+-- Latest review change per prompt for the detail page's version check
+CREATE INDEX idx_reviews_prompt_updated_at ON reviews (prompt_id, updated_at);
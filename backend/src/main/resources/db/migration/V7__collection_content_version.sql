@@ -0,0 +1,2 @@
+-- Bumped whenever the collection's member list or anything shown for a member changes; read by the collection ETag
+ALTER TABLE collections ADD COLUMN content_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,170 @@
+package com.promptdex.api.cache;
+
+import com.promptdex.api.event.PromptReviewsChangedEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.service.PromptViewCounter;
+import com.promptdex.api.service.TagCatalog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ResponseCacheFilterTest {
+    private final TagCatalog tagCatalog = mock(TagCatalog.class);
+    private final PromptViewCounter promptViewCounter = mock(PromptViewCounter.class);
+    private final AtomicInteger originCalls = new AtomicInteger();
+    private final UUID listedId = UUID.randomUUID();
+    private ResponseCache responseCache;
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache(tagCatalog, true, 1_000_000, 30, 120);
+        filter = new ResponseCacheFilter(responseCache, promptViewCounter);
+    }
+
+    @Test
+    void anonymousListing_isServedFromCacheOnSecondRequest() throws Exception {
+        MockHttpServletResponse first = perform(get("/api/prompts"));
+        MockHttpServletResponse second = perform(get("/api/prompts"));
+        assertThat(originCalls).hasValue(1);
+        assertThat(first.getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("MISS");
+        assertThat(second.getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    void queryParameterOrder_doesNotSplitCacheEntries() throws Exception {
+        MockHttpServletRequest first = get("/api/prompts");
+        first.addParameter("page", "1");
+        first.addParameter("size", "5");
+        MockHttpServletRequest second = get("/api/prompts");
+        second.addParameter("size", "5");
+        second.addParameter("page", "1");
+        perform(first);
+        perform(second);
+        perform(get("/api/prompts"));
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    void authenticatedRequests_bypassTheCache() throws Exception {
+        perform(get("/api/prompts"));
+        MockHttpServletRequest authenticated = get("/api/prompts");
+        authenticated.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        MockHttpServletResponse response = perform(authenticated);
+        assertThat(originCalls).hasValue(2);
+        assertThat(response.getHeader(ResponseCacheFilter.CACHE_STATUS_HEADER)).isNull();
+    }
+
+    @Test
+    void promptDetailHit_stillRecordsAView() throws Exception {
+        UUID promptId = UUID.randomUUID();
+        perform(get("/api/prompts/" + promptId));
+        perform(get("/api/prompts/" + promptId));
+        assertThat(originCalls).hasValue(1);
+        verify(promptViewCounter).record(promptId);
+    }
+
+    @Test
+    void reviewChange_dropsListingsContainingThePromptOnly() throws Exception {
+        UUID otherPromptId = UUID.randomUUID();
+        perform(get("/api/prompts"));
+        perform(get("/api/prompts/" + otherPromptId));
+        responseCache.onPromptReviewsChanged(new PromptReviewsChangedEvent(listedId));
+        perform(get("/api/prompts"));
+        perform(get("/api/prompts/" + otherPromptId));
+        assertThat(originCalls).hasValue(3);
+    }
+
+    @Test
+    void promptSave_dropsEveryListingAndThatPrompt() throws Exception {
+        UUID savedId = UUID.randomUUID();
+        UUID untouchedId = UUID.randomUUID();
+        MockHttpServletRequest searched = get("/api/prompts");
+        searched.addParameter("search", "nothing-listed-here");
+        perform(searched);
+        perform(get("/api/prompts/" + savedId));
+        perform(get("/api/prompts/" + untouchedId));
+        responseCache.onPromptSaved(new PromptSavedEvent(savedId, UUID.randomUUID(), "t", "d", "p", Set.of(), Instant.now(), false));
+        perform(searched);
+        perform(get("/api/prompts/" + savedId));
+        perform(get("/api/prompts/" + untouchedId));
+        assertThat(originCalls).hasValue(5);
+    }
+
+    @Test
+    void responseComputedAcrossAnInvalidation_isNotStored() throws Exception {
+        FilterChain racingOrigin = (request, response) -> {
+            writeListing((HttpServletResponse) response);
+            responseCache.onPromptReviewsChanged(new PromptReviewsChangedEvent(listedId));
+        };
+        filter.doFilter(get("/api/prompts"), new MockHttpServletResponse(), racingOrigin);
+        perform(get("/api/prompts"));
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    void tagListing_isRevalidatedAgainstTheCatalogVersion() throws Exception {
+        when(tagCatalog.etag()).thenReturn("\"tags-1\"");
+        perform(get("/api/tags"));
+        MockHttpServletRequest conditional = get("/api/tags");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"tags-1\"");
+        assertThat(perform(conditional).getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        when(tagCatalog.etag()).thenReturn("\"tags-2\"");
+        perform(get("/api/tags"));
+        assertThat(originCalls).hasValue(2);
+    }
+
+    @Test
+    void staleEntry_sendsOneRequestToRevalidateAndServesTheRest() {
+        Instant storedAt = Instant.now().minusSeconds(60);
+        responseCache.store("/api/prompts", new ResponseCache.CachedResponse(ResponseCache.Kind.LISTING,
+                MediaType.APPLICATION_JSON_VALUE, null, null, new byte[0], Set.of(), storedAt), responseCache.generation());
+        assertThat(responseCache.lookup("/api/prompts", Instant.now())).isEmpty();
+        assertThat(responseCache.lookup("/api/prompts", Instant.now())).isPresent();
+        responseCache.releaseRevalidation("/api/prompts");
+        assertThat(responseCache.lookup("/api/prompts", Instant.now())).isEmpty();
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            if (((MockHttpServletRequest) req).getRequestURI().startsWith("/api/tags")) {
+                originCalls.incrementAndGet();
+                httpResponse.setHeader(HttpHeaders.ETAG, tagCatalog.etag());
+                httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                httpResponse.getOutputStream().write("[\"java\"]".getBytes(StandardCharsets.UTF_8));
+            } else {
+                writeListing(httpResponse);
+            }
+        });
+        return response;
+    }
+
+    private void writeListing(HttpServletResponse response) throws IOException {
+        originCalls.incrementAndGet();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"content\":[{\"id\":\"" + listedId + "\"}]}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest get(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
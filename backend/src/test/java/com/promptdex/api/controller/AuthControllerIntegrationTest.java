@@ -110,8 +110,8 @@ public class AuthControllerIntegrationTest {
                 .andReturn();
         String responseString = result.getResponse().getContentAsString();
         String token = objectMapper.readTree(responseString).get("token").asText();
-        assertThat(tokenProvider.validateToken(token)).isTrue();
-        assertThat(tokenProvider.getUsernameFromJWT(token)).isEqualTo("testuser");
+        assertThat(tokenProvider.parseClaims(token)).hasValueSatisfying(claims ->
+                assertThat(claims.getSubject()).isEqualTo("testuser"));
     }
 
     @Test
@@ -2,6 +2,8 @@ package com.promptdex.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.promptdex.api.dto.CreateCollectionRequest;
+import com.promptdex.api.dto.CreateReviewRequest;
+import com.promptdex.api.dto.PatchCollectionPromptsRequest;
 import com.promptdex.api.model.AuthProvider;
 import com.promptdex.api.model.Collection;
 import com.promptdex.api.model.Prompt;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -21,10 +24,14 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -129,6 +136,33 @@ public class CollectionControllerIntegrationTest {
                 .andExpect(jsonPath("$.name", is("My Favorite Prompts")));
     }
 
+    @Test
+    @WithMockUser(username = "userOne")
+    void getCollectionById_pagesMembersNewestFirstWithTotalCount() throws Exception {
+        Instant now = Instant.now();
+        for (int i = 1; i <= 3; i++) {
+            Prompt member = new Prompt();
+            member.setTitle("Member " + i);
+            member.setPromptText("Text here.");
+            member.setTargetAiModel("GPT-4");
+            member.setCategory("Testing");
+            member.setAuthor(userTwo);
+            member.setCreatedAt(now.plusSeconds(i));
+            member.setUpdatedAt(now.plusSeconds(i));
+            collectionOne.getPrompts().add(promptRepository.save(member));
+        }
+        collectionRepository.saveAndFlush(collectionOne);
+        mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.promptCount", is(3)))
+                .andExpect(jsonPath("$.prompts.content", hasSize(2)))
+                .andExpect(jsonPath("$.prompts.content[0].title", is("Member 3")))
+                .andExpect(jsonPath("$.prompts.content[1].title", is("Member 2")));
+        mockMvc.perform(get("/api/collections"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].promptCount", is(3)));
+    }
+
     @Test
     @WithMockUser(username = "userTwo")
     void getCollectionById_asDifferentUser_returnsNotFound() throws Exception {
@@ -180,17 +214,24 @@ public class CollectionControllerIntegrationTest {
         mockMvc.perform(put("/api/collections/{collectionId}/prompts/{promptId}", collectionOne.getId(), promptOne.getId())
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.prompts", hasSize(1)))
-                .andExpect(jsonPath("$.prompts[0].id", is(promptOne.getId().toString())));
+                .andExpect(jsonPath("$.collectionId", is(collectionOne.getId().toString())))
+                .andExpect(jsonPath("$.added", is(1)))
+                .andExpect(jsonPath("$.promptCount", is(1)));
+        mockMvc.perform(put("/api/collections/{collectionId}/prompts/{promptId}", collectionOne.getId(), promptOne.getId())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", is(0)))
+                .andExpect(jsonPath("$.promptCount", is(1)));
         mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.prompts", hasSize(1)));
+                .andExpect(jsonPath("$.prompts.content", hasSize(1)))
+                .andExpect(jsonPath("$.prompts.content[0].id", is(promptOne.getId().toString())));
         mockMvc.perform(delete("/api/collections/{collectionId}/prompts/{promptId}", collectionOne.getId(), promptOne.getId())
                         .with(csrf()))
                 .andExpect(status().isNoContent());
         mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.prompts", hasSize(0)));
+                .andExpect(jsonPath("$.prompts.content", hasSize(0)));
     }
 
     @Test
@@ -200,4 +241,79 @@ public class CollectionControllerIntegrationTest {
                         .with(csrf()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void patchCollectionPrompts_addsAndRemovesInBulk() throws Exception {
+        Prompt promptTwo = new Prompt();
+        promptTwo.setTitle("Second Prompt");
+        promptTwo.setPromptText("Text here.");
+        promptTwo.setTargetAiModel("GPT-4");
+        promptTwo.setCategory("Testing");
+        promptTwo.setAuthor(userTwo);
+        promptRepository.saveAndFlush(promptTwo);
+        PatchCollectionPromptsRequest addBoth = new PatchCollectionPromptsRequest(
+                Set.of(promptOne.getId(), promptTwo.getId(), UUID.randomUUID()), null);
+        mockMvc.perform(patch("/api/collections/{collectionId}/prompts", collectionOne.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(addBoth)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", is(2)))
+                .andExpect(jsonPath("$.removed", is(0)))
+                .andExpect(jsonPath("$.promptCount", is(2)));
+        PatchCollectionPromptsRequest removeOne = new PatchCollectionPromptsRequest(null, Set.of(promptOne.getId()));
+        mockMvc.perform(patch("/api/collections/{collectionId}/prompts", collectionOne.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(removeOne)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", is(0)))
+                .andExpect(jsonPath("$.removed", is(1)))
+                .andExpect(jsonPath("$.promptCount", is(1)));
+    }
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void getCollectionById_withMatchingETag_returnsNotModifiedUntilMembershipChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(put("/api/collections/{collectionId}/prompts/{promptId}", collectionOne.getId(), promptOne.getId())
+                        .with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.promptCount", is(1)));
+    }
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void getCollectionById_afterAMemberPromptIsReviewedOrBookmarked_returnsANewETag() throws Exception {
+        mockMvc.perform(put("/api/collections/{collectionId}/prompts/{promptId}", collectionOne.getId(), promptOne.getId())
+                        .with(csrf()))
+                .andExpect(status().isOk());
+        String etag = mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post("/api/prompts/{promptId}/reviews", promptOne.getId())
+                        .with(user("userTwo"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateReviewRequest(5, "Great"))))
+                .andExpect(status().isCreated());
+        String reviewedEtag = mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prompts.content[0].reviewCount", is(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post("/api/prompts/{id}/bookmark", promptOne.getId()).with(csrf()))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/collections/{collectionId}", collectionOne.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, reviewedEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prompts.content[0].isBookmarked", is(true)));
+    }
+}
@@ -3,6 +3,9 @@ package com.promptdex.api.controller;
 import com.promptdex.api.model.AuthProvider;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.FeedEntryRepository;
+import com.promptdex.api.repository.FeedTimelineRepository;
+import com.promptdex.api.repository.FollowJdbcRepository;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +13,33 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,12 +47,21 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @Transactional
 public class FeedControllerIntegrationTest {
+    private static final int CONCURRENT_LOADS = 8;
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private FollowJdbcRepository followJdbcRepository;
+    @Autowired
     private PromptRepository promptRepository;
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+    @Autowired
+    private FeedTimelineRepository feedTimelineRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
     @MockitoBean
     private ClientRegistrationRepository clientRegistrationRepository;
     private User userOne;
@@ -42,9 +69,11 @@ public class FeedControllerIntegrationTest {
     private User userThree;
     private Prompt promptFromFollowedUser;
     private Prompt promptFromUnfollowedUser;
+    private TransactionTemplate transaction;
 
     @BeforeEach
     void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
         promptRepository.deleteAll();
         userRepository.deleteAll();
         userOne = new User();
@@ -90,8 +119,7 @@ public class FeedControllerIntegrationTest {
     @Test
     @WithMockUser(username = "userOne")
     void getUserFeed_whenFollowingUsers_returnsOnlyFollowedUsersPrompts() throws Exception {
-        userOne.follow(userTwo);
-        userRepository.saveAndFlush(userOne);
+        followJdbcRepository.insertFollow(userOne.getId(), userTwo.getId());
         mockMvc.perform(get("/api/feed"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(1)))
@@ -115,8 +143,7 @@ public class FeedControllerIntegrationTest {
         Prompt olderPrompt = createPrompt("Older Prompt", userTwo, Instant.now().minus(2, ChronoUnit.HOURS));
         Prompt newerPrompt = createPrompt("Newer Prompt", userTwo, Instant.now().minus(1, ChronoUnit.HOURS));
         promptRepository.saveAllAndFlush(List.of(olderPrompt, newerPrompt));
-        userOne.follow(userTwo);
-        userRepository.saveAndFlush(userOne);
+        followJdbcRepository.insertFollow(userOne.getId(), userTwo.getId());
         mockMvc.perform(get("/api/feed?page=0&size=1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(1)))
@@ -128,4 +155,75 @@ public class FeedControllerIntegrationTest {
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].prompt.title", is("Older Prompt")));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void getUserFeed_afterFollowAndUnfollow_tracksTimeline() throws Exception {
+        mockMvc.perform(get("/api/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(post("/api/users/{username}/follow", "userThree").with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].prompt.id", is(promptFromUnfollowedUser.getId().toString())));
+        mockMvc.perform(post("/api/users/{username}/unfollow", "userThree").with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getUserFeed_concurrentFirstLoads_allSucceedAndMaterializeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_LOADS);
+        try {
+            transaction.executeWithoutResult(status -> followJdbcRepository.insertFollow(userOne.getId(), userTwo.getId()));
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> loads = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_LOADS; i++) {
+                loads.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(get("/api/feed").with(user("userOne"))).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> load : loads) {
+                assertThat(load.get(30, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+            assertThat(feedEntryRepository.findPromptIdsByUserId(userOne.getId(), PageRequest.of(0, 10)).getContent())
+                    .containsExactly(promptFromFollowedUser.getId());
+        } finally {
+            executor.shutdownNow();
+            transaction.executeWithoutResult(status -> {
+                feedEntryRepository.deleteAll();
+                feedTimelineRepository.deleteAll();
+                userRepository.deleteFollow(userOne.getId(), userTwo.getId());
+                promptRepository.deleteAll();
+                userRepository.deleteAll();
+            });
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void getUserFeed_afterFollowedUserCreatesPrompt_includesNewPromptFirst() throws Exception {
+        mockMvc.perform(post("/api/users/{username}/follow", "userTwo").with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+        mockMvc.perform(post("/api/prompts")
+                        .with(user("userTwo"))
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Fresh Prompt\",\"text\":\"Text\",\"description\":\"Desc\",\"model\":\"GPT-4\",\"category\":\"Testing\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].prompt.title", is("Fresh Prompt")));
+    }
+}
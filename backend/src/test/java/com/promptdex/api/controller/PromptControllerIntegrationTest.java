@@ -2,6 +2,7 @@ package com.promptdex.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.promptdex.api.dto.CreatePromptRequest;
+import com.promptdex.api.dto.PatchPromptTagsRequest;
 import com.promptdex.api.model.AuthProvider;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.Tag;
@@ -9,12 +10,16 @@ import com.promptdex.api.model.User;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.TagRepository;
 import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.service.PromptViewCounter;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -25,6 +30,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -44,6 +50,10 @@ class PromptControllerIntegrationTest {
     private PromptRepository promptRepository;
     @Autowired
     private TagRepository tagRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PromptViewCounter promptViewCounter;
     @MockitoBean
     private ClientRegistrationRepository clientRegistrationRepository;
     private User testAuthor;
@@ -168,4 +178,152 @@ class PromptControllerIntegrationTest {
         mockMvc.perform(delete("/api/prompts/{id}/bookmark", prompt1.getId()).with(csrf()))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void bookmarkPrompts_inBulk_addsOnlyNewBookmarks() throws Exception {
+        mockMvc.perform(post("/api/prompts/{id}/bookmark", prompt1.getId()).with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/prompts/bookmarks")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(prompt1.getId(), prompt2.getId(), UUID.randomUUID()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added", is(1)));
+        mockMvc.perform(get("/api/prompts/bookmarks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+    @Test
+    void searchPrompts_withCursor_pagesThroughAllPromptsWithoutOverlap() throws Exception {
+        String firstPage = mockMvc.perform(get("/api/prompts").param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        String firstId = objectMapper.readTree(firstPage).get("content").get(0).get("id").asText();
+        mockMvc.perform(get("/api/prompts").param("cursor", nextCursor).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", not(firstId)))
+                .andExpect(jsonPath("$.hasNext", is(false)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void searchPrompts_withInvalidCursor_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/prompts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchPrompts_returnsSummariesWithoutReviewBodies() throws Exception {
+        mockMvc.perform(get("/api/prompts").param("tags", "java"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title", is("Java Prompt Title 2")))
+                .andExpect(jsonPath("$.content[0].tags", contains("java")))
+                .andExpect(jsonPath("$.content[0].reviewCount", is(0)))
+                .andExpect(jsonPath("$.content[0].reviews").doesNotExist())
+                .andExpect(jsonPath("$.content[0].text").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(username = "testAuthor")
+    void updatePromptTags_replacesOnlyChangedTags() throws Exception {
+        entityManager.clear();
+        mockMvc.perform(post("/api/prompts/{id}/tags", prompt1.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Set.of("Java", "brand-new"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags", containsInAnyOrder("java", "brand-new")));
+        entityManager.clear();
+        assertThat(promptRepository.findByIdWithAuthorAndTags(prompt1.getId()).orElseThrow().getTags())
+                .extracting(Tag::getName)
+                .containsExactlyInAnyOrder("java", "brand-new");
+    }
+
+    @Test
+    @WithMockUser(username = "testAuthor")
+    void patchPromptTags_addsAndRemovesIncrementally() throws Exception {
+        entityManager.clear();
+        PatchPromptTagsRequest request = new PatchPromptTagsRequest(Set.of("java", "patched"), Set.of("TESTING", "not-attached"));
+        mockMvc.perform(patch("/api/prompts/{id}/tags", prompt1.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags", containsInAnyOrder("java", "patched")));
+        entityManager.clear();
+        mockMvc.perform(patch("/api/prompts/{id}/tags", prompt1.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PatchPromptTagsRequest(null, Set.of("patched")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags", contains("java")));
+    }
+
+    @Test
+    @WithMockUser(username = "otherUser")
+    void patchPromptTags_asDifferentUser_returnsForbidden() throws Exception {
+        mockMvc.perform(patch("/api/prompts/{id}/tags", prompt1.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PatchPromptTagsRequest(Set.of("java"), null))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "testAuthor")
+    void getPromptById_withMatchingETag_returnsNotModifiedUntilPromptChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        entityManager.clear();
+        mockMvc.perform(patch("/api/prompts/{id}/tags", prompt1.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PatchPromptTagsRequest(Set.of("fresh"), Set.of()))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.tags", hasItem("fresh")));
+    }
+
+    @Test
+    void getPromptById_afterViewCountsAreFlushed_keepsTheSameETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        promptViewCounter.flush();
+        entityManager.clear();
+        assertThat(promptRepository.findViewCountById(prompt1.getId())).contains(1L);
+        mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(username = "testAuthor")
+    void getPromptById_sendsASingleWeakETagThatTheVersionCheckRevalidates() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).singleElement().asString().startsWith("W/\"p-");
+        mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()).header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(post("/api/prompts/{id}/bookmark", prompt1.getId()).with(csrf()))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(get("/api/prompts/{id}", prompt1.getId()).header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isBookmarked", is(true)));
+    }
+}
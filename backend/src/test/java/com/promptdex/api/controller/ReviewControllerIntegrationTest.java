@@ -3,12 +3,14 @@ package com.promptdex.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.promptdex.api.model.AuthProvider;
 import com.promptdex.api.model.Prompt;
+import com.promptdex.api.model.Review;
 import com.promptdex.api.model.User;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.ReviewRepository;
 import com.promptdex.api.repository.UserRepository;
 import com.promptdex.api.security.JwtTokenProvider;
 import com.promptdex.api.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,8 +28,15 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -50,6 +59,8 @@ public class ReviewControllerIntegrationTest {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private EntityManager entityManager;
     @MockitoBean
     private ClientRegistrationRepository clientRegistrationRepository;
     private String userOneToken;
@@ -92,6 +103,14 @@ public class ReviewControllerIntegrationTest {
         return jwtTokenProvider.generateToken(authentication);
     }
 
+    private User createReviewer(String username) {
+        User reviewer = new User();
+        reviewer.setUsername(username);
+        reviewer.setEmail(username + "@test.com");
+        reviewer.setProvider(AuthProvider.LOCAL);
+        return userRepository.save(reviewer);
+    }
+
     @Test
     void createReview_asDifferentUser_shouldSucceed() throws Exception {
         Map<String, Object> reviewRequest = new HashMap<>();
@@ -142,4 +161,107 @@ public class ReviewControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(secondReviewRequest)))
                 .andExpect(status().isConflict());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getReviews_sortedByRating_pagesWithCursor() throws Exception {
+        for (int rating : new int[]{2, 5, 4}) {
+            Review review = new Review();
+            review.setPrompt(testPrompt);
+            review.setUser(createReviewer("rater" + rating));
+            review.setRating(rating);
+            review.setComment("Rated " + rating);
+            reviewRepository.saveAndFlush(review);
+        }
+        String firstPage = mockMvc.perform(get("/api/prompts/{promptId}/reviews", testPrompt.getId())
+                        .param("sort", "rating")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].rating", contains(5, 4)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/api/prompts/{promptId}/reviews", testPrompt.getId())
+                        .param("sort", "rating")
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].rating", contains(2)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void getReviews_newestFirst_pagesWithoutRepeatingReviews() throws Exception {
+        for (int rating : new int[]{3, 4}) {
+            Review review = new Review();
+            review.setPrompt(testPrompt);
+            review.setUser(createReviewer("rater" + rating));
+            review.setRating(rating);
+            reviewRepository.saveAndFlush(review);
+        }
+        String firstPage = mockMvc.perform(get("/api/prompts/{promptId}/reviews", testPrompt.getId()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andReturn().getResponse().getContentAsString();
+        String firstId = objectMapper.readTree(firstPage).get("content").get(0).get("id").asText();
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/api/prompts/{promptId}/reviews", testPrompt.getId()).param("size", "1").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", not(firstId)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void getReviews_forUnknownPrompt_returnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/prompts/{promptId}/reviews", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPrompt_returnsViewersOwnReviewEvenWhenNotOnFirstPage() throws Exception {
+        Review ownReview = new Review();
+        ownReview.setPrompt(testPrompt);
+        ownReview.setUser(userOne);
+        ownReview.setRating(3);
+        ownReview.setComment("Mine");
+        reviewRepository.saveAndFlush(ownReview);
+        for (int i = 0; i < 10; i++) {
+            Review review = new Review();
+            review.setPrompt(testPrompt);
+            review.setUser(createReviewer("reviewer" + i));
+            review.setRating(5);
+            reviewRepository.saveAndFlush(review);
+        }
+        entityManager.clear();
+        mockMvc.perform(get("/api/prompts/{promptId}", testPrompt.getId())
+                        .header("Authorization", "Bearer " + userOneToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviews.length()").value(10))
+                .andExpect(jsonPath("$.reviews[*].authorUsername", not(hasItem("userOne"))))
+                .andExpect(jsonPath("$.reviewsNextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.viewerReview.id").value(ownReview.getId().toString()))
+                .andExpect(jsonPath("$.viewerReview.rating").value(3));
+        mockMvc.perform(get("/api/prompts/{promptId}", testPrompt.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewerReview").value(nullValue()));
+    }
+
+    @Test
+    void createReview_updatesRatingAggregatesOnPrompt() throws Exception {
+        Map<String, Object> reviewRequest = new HashMap<>();
+        reviewRequest.put("rating", 4);
+        reviewRequest.put("comment", "Solid prompt.");
+        mockMvc.perform(post("/api/prompts/{promptId}/reviews", testPrompt.getId())
+                        .with(csrf())
+                        .header("Authorization", "Bearer " + userOneToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reviewRequest)))
+                .andExpect(status().isCreated());
+        entityManager.clear();
+        mockMvc.perform(get("/api/prompts/{promptId}", testPrompt.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageRating").value(4.0))
+                .andExpect(jsonPath("$.ratingCount").value(1))
+                .andExpect(jsonPath("$.ratingHistogram.4").value(1))
+                .andExpect(jsonPath("$.ratingHistogram.5").value(0));
+    }
+}
@@ -0,0 +1,125 @@
+package com.promptdex.api.controller;
+
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.model.AuthProvider;
+import com.promptdex.api.model.Prompt;
+import com.promptdex.api.model.Tag;
+import com.promptdex.api.model.User;
+import com.promptdex.api.repository.PromptRepository;
+import com.promptdex.api.repository.TagRepository;
+import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.service.TagCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TagControllerIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PromptRepository promptRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TagCatalog tagCatalog;
+    @MockitoBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+    private Tag writingTag;
+
+    @BeforeEach
+    void setUp() {
+        promptRepository.deleteAll();
+        tagRepository.deleteAll();
+        userRepository.deleteAll();
+        User author = new User();
+        author.setUsername("tagAuthor");
+        author.setEmail("tagauthor@test.com");
+        author.setPassword("password");
+        author.setProvider(AuthProvider.LOCAL);
+        userRepository.save(author);
+        writingTag = tagRepository.save(Tag.builder().name("writing").build());
+        Tag codingTag = tagRepository.save(Tag.builder().name("coding").build());
+        tagRepository.save(Tag.builder().name("unused").build());
+        promptRepository.save(createPrompt("First", author, Set.of(writingTag, codingTag)));
+        promptRepository.save(createPrompt("Second", author, Set.of(writingTag)));
+        promptRepository.flush();
+        tagCatalog.reload();
+    }
+
+    @AfterEach
+    void resetCatalog() {
+        TestTransaction.end();
+        tagCatalog.reload();
+    }
+
+    private Prompt createPrompt(String title, User author, Set<Tag> tags) {
+        Prompt p = new Prompt();
+        p.setTitle(title);
+        p.setPromptText("Test text");
+        p.setDescription("Test desc");
+        p.setTargetAiModel("GPT-4");
+        p.setCategory("Testing");
+        p.setAuthor(author);
+        p.getTags().addAll(tags);
+        return p;
+    }
+
+    @Test
+    void getAllTags_returnsSortedNamesWithETag_andNotModifiedOnMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", contains("coding", "unused", "writing")))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/tags").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getPopularTags_ordersByUsageAndSkipsUnusedTags() throws Exception {
+        mockMvc.perform(get("/api/tags/popular").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("writing")))
+                .andExpect(jsonPath("$[0].promptCount", is(2)))
+                .andExpect(jsonPath("$[1].name", is("coding")))
+                .andExpect(jsonPath("$[1].promptCount", is(1)));
+    }
+
+    @Test
+    void tagChange_updatesCatalogAndInvalidatesETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/tags/popular"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        tagCatalog.onPromptTagsChanged(new PromptTagsChangedEvent(null, Map.of(), Set.of("writing")));
+        String newEtag = mockMvc.perform(get("/api/tags/popular").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].promptCount", is(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+        assertThat(tagCatalog.findTagId("writing")).contains(writingTag.getId());
+    }
+}
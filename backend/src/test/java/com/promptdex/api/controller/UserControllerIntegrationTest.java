@@ -3,6 +3,7 @@ package com.promptdex.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.promptdex.api.model.AuthProvider;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.FollowJdbcRepository;
 import com.promptdex.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -33,6 +35,8 @@ class UserControllerIntegrationTest {
     private MockMvc mockMvc;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private FollowJdbcRepository followJdbcRepository;
     @MockitoBean
     private ClientRegistrationRepository clientRegistrationRepository;
     private User user1;
@@ -94,8 +98,8 @@ class UserControllerIntegrationTest {
     @Test
     @WithMockUser(username = "userOne")
     void followUser_whenAlreadyFollowing_doesNotChangeCount() throws Exception {
-        user1.getFollowing().add(user2);
-        userRepository.saveAndFlush(user1);
+        followJdbcRepository.insertFollow(user1.getId(), user2.getId());
+        userRepository.adjustFollowCounts(user1.getId(), user2.getId(), 1);
         mockMvc.perform(post("/api/users/{username}/follow", user2.getUsername()).with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.followerCount", is(1)))
@@ -114,4 +118,19 @@ class UserControllerIntegrationTest {
         mockMvc.perform(post("/api/users/{username}/follow", user1.getUsername()).with(csrf()))
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "userOne")
+    void getProfile_withMatchingETag_returnsNotModifiedUntilFollowChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/users/{username}/profile", user2.getUsername()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/users/{username}/profile", user2.getUsername()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(post("/api/users/{username}/follow", user2.getUsername()).with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{username}/profile", user2.getUsername()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isFollowedByCurrentUser", is(true)));
+    }
+}
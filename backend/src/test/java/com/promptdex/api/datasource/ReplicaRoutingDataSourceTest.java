@@ -0,0 +1,92 @@
+package com.promptdex.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), tracker);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(tracker);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        assertThat(whichDatabase(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_staysOnPrimary() {
+        assertThat(whichDatabase(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void userWhoJustWrote_readsTheirWritesFromPrimary() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET touched = TRUE"));
+        assertThat(whichDatabase(readOnly)).isEqualTo("primary");
+        signIn("bob");
+        assertThat(whichDatabase(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWrite_doesNotPinTheUserToPrimary() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET touched = TRUE");
+            status.setRollbackOnly();
+        });
+        assertThat(whichDatabase(readOnly)).isEqualTo("replica");
+    }
+
+    private String whichDatabase(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(username, null, "ROLE_USER"));
+    }
+
+    private static DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE marker (name VARCHAR(20), touched BOOLEAN DEFAULT FALSE)");
+        setup.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,113 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.AuthProvider;
+import com.promptdex.api.model.Prompt;
+import com.promptdex.api.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional
+@Import(BookmarkJdbcRepository.class)
+public class BookmarkJdbcRepositoryIntegrationTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookmarkJdbcRepository bookmarkJdbcRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PromptRepository promptRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insertBookmark_isIdempotent() {
+        User user = entityManager.persist(user("reader"));
+        Prompt prompt = entityManager.persistAndFlush(prompt(user, "Prompt"));
+        assertThat(bookmarkJdbcRepository.insertBookmark(user.getId(), prompt.getId())).isTrue();
+        assertThat(bookmarkJdbcRepository.insertBookmark(user.getId(), prompt.getId())).isFalse();
+        assertThat(userRepository.findBookmarkedPromptIdsAmong(user.getId(), List.of(prompt.getId()))).containsExactly(prompt.getId());
+    }
+
+    @Test
+    void insertBookmarks_returnsOnlyExistingPromptsNotYetBookmarked() {
+        User user = entityManager.persist(user("reader"));
+        Prompt bookmarked = entityManager.persist(prompt(user, "Bookmarked"));
+        Prompt fresh = entityManager.persistAndFlush(prompt(user, "Fresh"));
+        bookmarkJdbcRepository.insertBookmark(user.getId(), bookmarked.getId());
+        List<UUID> requested = List.of(bookmarked.getId(), fresh.getId(), UUID.randomUUID(), fresh.getId());
+        assertThat(bookmarkJdbcRepository.insertBookmarks(user.getId(), requested)).containsExactly(fresh.getId());
+        assertThat(userRepository.findBookmarkedPromptIdsAmong(user.getId(), requested))
+                .containsExactlyInAnyOrder(bookmarked.getId(), fresh.getId());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void insertBookmark_racingTheSameBookmark_reportsItAsAlreadyPresent() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        User user = transaction.execute(status -> userRepository.save(user("racer")));
+        Prompt prompt = transaction.execute(status -> promptRepository.save(prompt(user, "Raced")));
+        try {
+            CountDownLatch inserted = new CountDownLatch(1);
+            CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+                boolean added = bookmarkJdbcRepository.insertBookmark(user.getId(), prompt.getId());
+                inserted.countDown();
+                sleep(300);
+                return added;
+            }));
+            assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+            Boolean second = transaction.execute(status -> bookmarkJdbcRepository.insertBookmark(user.getId(), prompt.getId()));
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(second).isFalse();
+        } finally {
+            jdbcTemplate.update("DELETE FROM user_bookmarks WHERE user_id = ?", user.getId());
+            jdbcTemplate.update("DELETE FROM prompts WHERE id = ?", prompt.getId());
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setProvider(AuthProvider.LOCAL);
+        return user;
+    }
+
+    private static Prompt prompt(User author, String title) {
+        Prompt prompt = new Prompt();
+        prompt.setTitle(title);
+        prompt.setPromptText("Text");
+        prompt.setCategory("Testing");
+        prompt.setTargetAiModel("GPT-4");
+        prompt.setAuthor(author);
+        return prompt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.FeedEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional
+public class FeedEntryRepositoryIntegrationTest {
+    @Autowired
+    private FeedEntryRepository feedEntryRepository;
+
+    @Test
+    void trimTimelines_keepsNewestEntriesPerUser() {
+        UUID userOne = UUID.randomUUID();
+        UUID userTwo = UUID.randomUUID();
+        UUID authorId = UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<FeedEntry> entries = new ArrayList<>();
+        List<UUID> userOnePromptIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UUID promptId = UUID.randomUUID();
+            userOnePromptIds.add(promptId);
+            entries.add(new FeedEntry(userOne, promptId, authorId, now.minus(i, ChronoUnit.HOURS)));
+        }
+        entries.add(new FeedEntry(userTwo, UUID.randomUUID(), authorId, now));
+        feedEntryRepository.saveAllAndFlush(entries);
+        int removed = feedEntryRepository.trimTimelines(2);
+        assertThat(removed).isEqualTo(2);
+        Page<UUID> userOneTimeline = feedEntryRepository.findPromptIdsByUserId(userOne, PageRequest.of(0, 10));
+        assertThat(userOneTimeline.getContent()).containsExactly(userOnePromptIds.get(0), userOnePromptIds.get(1));
+        assertThat(feedEntryRepository.findPromptIdsByUserId(userTwo, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+}
@@ -12,9 +12,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -78,48 +80,68 @@ public class PromptRepositoryIntegrationTest {
     @Test
     void whenSearchTermProvided_thenReturnMatchingPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts("java", null, pageable);
+        Page<UUID> results = promptRepository.searchPromptIds("java", null, pageable);
         assertThat(results.getTotalElements()).isEqualTo(2);
-        assertThat(results.getContent()).extracting(Prompt::getTitle).containsExactlyInAnyOrder("Java Basics", "Advanced Testing");
+        assertThat(results.getContent()).containsExactlyInAnyOrder(prompt1.getId(), prompt3.getId());
     }
 
     @Test
     void whenSearchTermIsCaseInsensitive_thenReturnMatchingPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts("bAsIcS", null, pageable);
+        Page<UUID> results = promptRepository.searchPromptIds("bAsIcS", null, pageable);
         assertThat(results.getTotalElements()).isEqualTo(1);
-        assertThat(results.getContent().get(0).getTitle()).isEqualTo("Java Basics");
+        assertThat(results.getContent()).containsExactly(prompt1.getId());
     }
 
     @Test
     void whenTagsProvided_thenReturnMatchingPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts(null, List.of("java"), pageable);
+        Page<UUID> results = promptRepository.searchPromptIds(null, List.of("java"), pageable);
         assertThat(results.getTotalElements()).isEqualTo(2);
-        assertThat(results.getContent()).extracting(Prompt::getTitle).containsExactlyInAnyOrder("Java Basics", "Advanced Testing");
+        assertThat(results.getContent()).containsExactlyInAnyOrder(prompt1.getId(), prompt3.getId());
     }
 
     @Test
     void whenSearchTermAndTagsProvided_thenReturnMatchingPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts("testing", List.of("java"), pageable);
+        Page<UUID> results = promptRepository.searchPromptIds("testing", List.of("java"), pageable);
         assertThat(results.getTotalElements()).isEqualTo(1);
-        assertThat(results.getContent().get(0).getTitle()).isEqualTo("Advanced Testing");
+        assertThat(results.getContent()).containsExactly(prompt3.getId());
     }
 
     @Test
     void whenNoFiltersProvided_thenReturnAllPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts(null, null, pageable);
+        Page<UUID> results = promptRepository.searchPromptIds(null, null, pageable);
         assertThat(results.getTotalElements()).isEqualTo(4);
     }
 
     @Test
     void whenPaginationIsApplied_thenReturnCorrectSlice() {
         Pageable pageable = PageRequest.of(0, 2);
-        Page<Prompt> results = promptRepository.searchAndPagePrompts(null, null, pageable);
+        Page<UUID> results = promptRepository.searchPromptIds(null, null, pageable);
         assertThat(results.getContent()).hasSize(2);
         assertThat(results.getTotalElements()).isEqualTo(4);
         assertThat(results.getTotalPages()).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenAdminSearchMatchesTag_thenReturnPageWithTagsLoaded() {
+        entityManager.clear();
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "title"));
+        Page<Prompt> results = promptRepository.findAllAdminSearch("testing", pageable);
+        assertThat(results.getTotalElements()).isEqualTo(1);
+        assertThat(results.getContent()).hasSize(1);
+        assertThat(results.getContent().get(0).getTitle()).isEqualTo("Advanced Testing");
+        assertThat(results.getContent().get(0).getTags()).extracting(Tag::getName).containsExactlyInAnyOrder("java", "testing");
+    }
+
+    @Test
+    void whenAllPromptsPaged_thenPageIsOrderedAndCounted() {
+        entityManager.clear();
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "title"));
+        Page<Prompt> results = promptRepository.findAllWithAuthorAndTags(pageable);
+        assertThat(results.getTotalElements()).isEqualTo(4);
+        assertThat(results.getContent()).extracting(Prompt::getTitle).containsExactly("Python Scripting", "SQL Queries");
+    }
+}
@@ -0,0 +1,134 @@
+package com.promptdex.api.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchemaMigrationIntegrationTest {
+    private static final String PRE_FLYWAY_URL =
+            "jdbc:h2:mem:preflywaydb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void migrations_coverRepositoryQueryPaths() throws SQLException {
+        assertLeadingColumns("prompts", "created_at", "id");
+        assertLeadingColumns("prompts", "author_id", "created_at", "id");
+        assertLeadingColumns("reviews", "prompt_id", "user_id");
+        assertLeadingColumns("reviews", "prompt_id", "created_at", "id");
+        assertLeadingColumns("reviews", "prompt_id", "rating", "created_at", "id");
+        assertLeadingColumns("reviews", "prompt_id", "updated_at");
+        assertLeadingColumns("reviews", "user_id");
+        assertLeadingColumns("user_follows", "followed_id", "user_id");
+        assertLeadingColumns("user_follows", "user_id", "followed_id");
+        assertLeadingColumns("user_bookmarks", "prompt_id", "user_id");
+        assertLeadingColumns("user_bookmarks", "user_id", "prompt_id");
+        assertLeadingColumns("collection_prompts", "collection_id", "prompt_id");
+        assertLeadingColumns("collection_prompts", "prompt_id");
+        assertLeadingColumns("prompt_tags", "tag_id", "prompt_id");
+        assertLeadingColumns("collections", "owner_id", "name");
+        assertLeadingColumns("feed_entries", "user_id", "created_at", "prompt_id");
+        assertLeadingColumns("feed_entries", "prompt_id");
+    }
+
+    @Test
+    void migrations_enforceOneReviewPerUserAndPrompt() throws SQLException {
+        assertThat(indexes("reviews", true).values()).contains(List.of("prompt_id", "user_id"));
+    }
+
+    @Test
+    void baselinedPreFlywayDatabase_migratesToTheFreshSchemaAndBackfillsCounters() throws SQLException {
+        DataSource preFlyway = new DriverManagerDataSource(PRE_FLYWAY_URL, "sa", "");
+        try (Connection connection = preFlyway.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-flyway-schema.sql"));
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(preFlyway);
+        UUID author = UUID.randomUUID();
+        UUID reader = UUID.randomUUID();
+        UUID prompt = UUID.randomUUID();
+        jdbc.update("INSERT INTO users (id, username, email) VALUES (?, 'author', 'author@test.com'), (?, 'reader', 'reader@test.com')",
+                author, reader);
+        jdbc.update("INSERT INTO user_follows (user_id, followed_id) VALUES (?, ?)", reader, author);
+        jdbc.update("INSERT INTO prompts (id, title, prompt_text, target_ai_model, category, author_id, created_at, updated_at) " +
+                "VALUES (?, 'Title', 'Text', 'GPT-4', 'Testing', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", prompt, author);
+        jdbc.update("INSERT INTO reviews (id, rating, prompt_id, user_id, created_at, updated_at) " +
+                "VALUES (?, 4, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", UUID.randomUUID(), prompt, reader);
+
+        Flyway.configure().dataSource(preFlyway).baselineOnMigrate(true).load().migrate();
+
+        assertThat(columns(preFlyway)).containsKeys("feed_entries", "feed_timelines").isEqualTo(columns(dataSource));
+        assertThat(jdbc.queryForObject("SELECT followers_count FROM users WHERE id = ?", Long.class, author)).isEqualTo(1L);
+        assertThat(jdbc.queryForObject("SELECT following_count FROM users WHERE id = ?", Long.class, reader)).isEqualTo(1L);
+        assertThat(jdbc.queryForMap("SELECT rating_count, rating_sum, rating_4 FROM prompts WHERE id = ?", prompt))
+                .containsEntry("rating_count", 1L)
+                .containsEntry("rating_sum", 4L)
+                .containsEntry("rating_4", 1L);
+    }
+
+    private void assertLeadingColumns(String table, String... columns) throws SQLException {
+        List<String> expected = List.of(columns);
+        assertThat(indexes(table, false).values())
+                .as("index on %s starting with %s", table, expected)
+                .anySatisfy(indexColumns -> assertThat(indexColumns).startsWith(columns));
+    }
+
+    private Map<String, List<String>> indexes(String table, boolean uniqueOnly) throws SQLException {
+        Map<String, List<String>> columnsByIndex = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rows = metaData.getIndexInfo(null, null, table, uniqueOnly, false)) {
+                while (rows.next()) {
+                    String indexName = rows.getString("INDEX_NAME");
+                    String column = rows.getString("COLUMN_NAME");
+                    if (indexName != null && column != null) {
+                        columnsByIndex.computeIfAbsent(indexName, name -> new ArrayList<>()).add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return columnsByIndex;
+    }
+
+    private Map<String, Set<String>> columns(DataSource source) throws SQLException {
+        Map<String, Set<String>> columnsByTable = new TreeMap<>();
+        try (Connection connection = source.getConnection();
+             ResultSet rows = connection.getMetaData().getColumns(null, "public", null, null)) {
+            while (rows.next()) {
+                String table = rows.getString("TABLE_NAME").toLowerCase(Locale.ROOT);
+                if (!table.equals("flyway_schema_history")) {
+                    columnsByTable.computeIfAbsent(table, name -> new TreeSet<>()).add(rows.getString("COLUMN_NAME").toLowerCase(Locale.ROOT) +
+                            " " + rows.getString("TYPE_NAME") + " " + rows.getString("IS_NULLABLE"));
+                }
+            }
+        }
+        return columnsByTable;
+    }
+}
@@ -0,0 +1,205 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.dto.CacheRegionStatsDto;
+import com.promptdex.api.dto.CreateReviewRequest;
+import com.promptdex.api.model.AuthProvider;
+import com.promptdex.api.model.Prompt;
+import com.promptdex.api.model.Tag;
+import com.promptdex.api.model.User;
+import com.promptdex.api.service.AdminStatsService;
+import com.promptdex.api.service.PromptViewCounter;
+import com.promptdex.api.service.ReviewService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: Hibernate never caches rows inserted by the running transaction, so every
+ * step commits on its own, the way separate requests would.
+ */
+@SpringBootTest
+public class SecondLevelCacheIntegrationTest {
+    private static final String PROMPT_REGION = Prompt.class.getName();
+    private static final String ROLES_REGION = User.class.getName() + ".roles";
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookmarkJdbcRepository bookmarkJdbcRepository;
+    @Autowired
+    private PromptRepository promptRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private PromptTagJdbcRepository promptTagJdbcRepository;
+    @Autowired
+    private PromptViewCounter promptViewCounter;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private AdminStatsService adminStatsService;
+    @MockitoBean
+    private ClientRegistrationRepository clientRegistrationRepository;
+    private TransactionTemplate transaction;
+    private UUID promptId;
+    private UUID otherPromptId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            User author = createUser("cacheAuthor");
+            Tag java = tagRepository.save(Tag.builder().name("cache-java").build());
+            promptId = createPrompt(author, "Cached", java);
+            otherPromptId = createPrompt(author, "Also cached", java);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            User author = userRepository.findByUsername("cacheAuthor").orElseThrow();
+            userRepository.deleteBookmark(author.getId(), promptId);
+            promptRepository.deleteById(promptId);
+            promptRepository.deleteById(otherPromptId);
+            tagRepository.deleteAll(tagRepository.findAll().stream().filter(tag -> tag.getName().startsWith("cache-")).toList());
+            userRepository.delete(author);
+            userRepository.findByUsername("cacheReviewer").ifPresent(userRepository::delete);
+        });
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username.toLowerCase() + "@test.com");
+        user.setPassword("password");
+        user.setProvider(AuthProvider.LOCAL);
+        user.setRoles(Set.of("ROLE_USER"));
+        return userRepository.save(user);
+    }
+
+    private UUID createPrompt(User author, String title, Tag tag) {
+        Prompt prompt = new Prompt();
+        prompt.setTitle(title);
+        prompt.setPromptText("Test text");
+        prompt.setTargetAiModel("GPT-4");
+        prompt.setCategory("Testing");
+        prompt.setAuthor(author);
+        prompt.getTags().add(tag);
+        return promptRepository.save(prompt).getId();
+    }
+
+    @Test
+    void committedPrompt_isServedFromCacheOnEveryLoad() {
+        CacheRegionStatistics before = regionStatistics(PROMPT_REGION);
+        long hitsBefore = before.getHitCount();
+        long missesBefore = before.getMissCount();
+        loadPrompt();
+        loadPrompt();
+        assertThat(regionStatistics(PROMPT_REGION).getHitCount()).isEqualTo(hitsBefore + 2);
+        assertThat(regionStatistics(PROMPT_REGION).getMissCount()).isEqualTo(missesBefore);
+        assertThat(adminStatsService.getCacheStats())
+                .filteredOn(stats -> stats.region().equals(PROMPT_REGION))
+                .singleElement()
+                .extracting(CacheRegionStatsDto::hitRatio)
+                .matches(ratio -> ratio > 0.0);
+    }
+
+    @Test
+    void bookmarkInsert_leavesCachedPromptsInPlace() {
+        loadPrompt();
+        long missesBefore = regionStatistics(PROMPT_REGION).getMissCount();
+        transaction.executeWithoutResult(status ->
+                bookmarkJdbcRepository.insertBookmark(userRepository.findByUsername("cacheAuthor").orElseThrow().getId(), promptId));
+        loadPrompt();
+        assertThat(regionStatistics(PROMPT_REGION).getMissCount()).isEqualTo(missesBefore);
+    }
+
+    @Test
+    void userRoles_areServedFromCacheOnTheNextLoad() {
+        long hitsBefore = regionStatistics(ROLES_REGION).getHitCount();
+        loadRoles();
+        assertThat(loadRoles()).containsExactly("ROLE_USER");
+        assertThat(regionStatistics(ROLES_REGION).getHitCount()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    void tagsWrittenOverJdbc_evictTheCachedTagCollection() {
+        loadPrompt();
+        transaction.executeWithoutResult(status -> {
+            Tag spring = tagRepository.saveAndFlush(Tag.builder().name("cache-spring").build());
+            promptTagJdbcRepository.insert(promptId, Set.of(spring.getId()));
+        });
+        Set<String> tagNames = loadPrompt().getTags().stream().map(Tag::getName).collect(Collectors.toSet());
+        assertThat(tagNames).containsExactlyInAnyOrder("cache-java", "cache-spring");
+    }
+
+    @Test
+    void flushedViewCounts_leaveTheCachedPromptInPlace() {
+        loadPrompt();
+        long missesBefore = regionStatistics(PROMPT_REGION).getMissCount();
+        promptViewCounter.record(promptId);
+        promptViewCounter.flush();
+        loadPrompt();
+        assertThat(regionStatistics(PROMPT_REGION).getMissCount()).isEqualTo(missesBefore);
+        assertThat(promptRepository.findViewCountById(promptId)).contains(1L);
+    }
+
+    @Test
+    void reviewOnOnePrompt_evictsOnlyThatPrompt() {
+        UserDetails reviewer = transaction.execute(status -> {
+            User user = createUser("cacheReviewer");
+            return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                    .password(user.getPassword())
+                    .build();
+        });
+        loadPrompt();
+        loadPrompt(otherPromptId);
+        long missesBefore = regionStatistics(PROMPT_REGION).getMissCount();
+        reviewService.createReview(promptId, new CreateReviewRequest(5, "Great"), reviewer);
+        loadPrompt(otherPromptId);
+        assertThat(regionStatistics(PROMPT_REGION).getMissCount()).isEqualTo(missesBefore);
+        assertThat(loadPrompt().getRatingCount()).isEqualTo(1);
+        assertThat(regionStatistics(PROMPT_REGION).getMissCount()).isEqualTo(missesBefore + 1);
+    }
+
+    private Prompt loadPrompt() {
+        return loadPrompt(promptId);
+    }
+
+    private Prompt loadPrompt(UUID id) {
+        return transaction.execute(status -> {
+            Prompt loaded = promptRepository.findById(id).orElseThrow();
+            loaded.getTags().size();
+            return loaded;
+        });
+    }
+
+    private List<String> loadRoles() {
+        return transaction.execute(status -> List.copyOf(userRepository.findByUsername("cacheAuthor").orElseThrow().getRoles()));
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics(region);
+    }
+}
@@ -0,0 +1,44 @@
+package com.promptdex.api.repository;
+
+import com.promptdex.api.model.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Transactional
+@Import(TagJdbcRepository.class)
+public class TagJdbcRepositoryIntegrationTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TagJdbcRepository tagJdbcRepository;
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void upsertTagIds_returnsExistingIdsAndInsertsOnlyMissingTags() {
+        Tag existing = entityManager.persistFlushFind(Tag.builder().name("existing").build());
+        Map<String, UUID> tagIds = tagJdbcRepository.upsertTagIds(List.of("existing", "fresh-one", "fresh-two"));
+        assertThat(tagIds).containsOnlyKeys("existing", "fresh-one", "fresh-two");
+        assertThat(tagIds.get("existing")).isEqualTo(existing.getId());
+        assertThat(tagRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void upsertTagIds_isIdempotentForRepeatedNames() {
+        Map<String, UUID> first = tagJdbcRepository.upsertTagIds(List.of("alpha", "beta"));
+        Map<String, UUID> second = tagJdbcRepository.upsertTagIds(List.of("beta", "alpha"));
+        assertThat(second).isEqualTo(first);
+        assertThat(tagRepository.count()).isEqualTo(2);
+    }
+}
@@ -8,19 +8,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @Transactional
+@Import(FollowJdbcRepository.class)
 public class UserRepositoryIntegrationTest {
     @Autowired
     private TestEntityManager entityManager;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private FollowJdbcRepository followJdbcRepository;
     private User user1;
     private User user2;
     private Prompt prompt1;
@@ -44,37 +49,43 @@ public class UserRepositoryIntegrationTest {
         prompt1.setTargetAiModel("GPT-4");
         prompt1.setAuthor(user2);
         entityManager.persist(prompt1);
-        user1.follow(user2);
         user1.getBookmarkedPrompts().add(prompt1);
         entityManager.persist(user1);
         entityManager.flush();
+        followJdbcRepository.insertFollow(user1.getId(), user2.getId());
+        userRepository.adjustFollowCounts(user1.getId(), user2.getId(), 1);
         entityManager.clear();
     }
 
     @Test
-    void whenFindByUsernameWithFollowing_thenFollowingCollectionShouldBeFetched() {
-        Optional<User> foundUserOpt = userRepository.findByUsernameWithFollowing("userOne");
-        assertThat(foundUserOpt).isPresent();
-        User foundUser = foundUserOpt.get();
-        assertThat(foundUser.getFollowing()).hasSize(1);
-        assertThat(foundUser.getFollowing().iterator().next().getUsername()).isEqualTo("userTwo");
+    void whenDeleteBookmark_thenStatementIsIdempotent() {
+        assertThat(userRepository.deleteBookmark(user1.getId(), prompt1.getId())).isEqualTo(1);
+        assertThat(userRepository.deleteBookmark(user1.getId(), prompt1.getId())).isZero();
+        assertThat(userRepository.findBookmarkedPromptIdsAmong(user1.getId(), List.of(prompt1.getId()))).isEmpty();
     }
 
     @Test
-    void whenFindByIdWithFollowers_thenFollowersCollectionShouldBeFetched() {
-        Optional<User> foundUserOpt = userRepository.findByIdWithFollowers(user2.getId());
-        assertThat(foundUserOpt).isPresent();
-        User foundUser = foundUserOpt.get();
-        assertThat(foundUser.getFollowers()).hasSize(1);
-        assertThat(foundUser.getFollowers().iterator().next().getUsername()).isEqualTo("userOne");
+    void whenFindBookmarkedPromptIdsAmong_thenOnlyBookmarkedIdsFromPageAreReturned() {
+        UUID notBookmarked = UUID.randomUUID();
+        assertThat(userRepository.findBookmarkedPromptIdsAmong(user1.getId(), List.of(prompt1.getId(), notBookmarked)))
+                .containsExactly(prompt1.getId());
+        assertThat(userRepository.findBookmarkedPromptIdsAmong(user2.getId(), List.of(prompt1.getId()))).isEmpty();
     }
 
     @Test
-    void whenFindByUsernameWithBookmarks_thenBookmarksCollectionShouldBeFetched() {
-        Optional<User> foundUserOpt = userRepository.findByUsernameWithBookmarks("userOne");
-        assertThat(foundUserOpt).isPresent();
-        User foundUser = foundUserOpt.get();
-        assertThat(foundUser.getBookmarkedPrompts()).hasSize(1);
-        assertThat(foundUser.getBookmarkedPrompts().iterator().next().getTitle()).isEqualTo("Test Prompt");
+    void whenFollowAndUnfollow_thenOnlyRowsThatChangeAreReported() {
+        assertThat(userRepository.existsFollow("userOne", user2.getId())).isTrue();
+        assertThat(userRepository.existsFollow("userTwo", user1.getId())).isFalse();
+        assertThat(followJdbcRepository.insertFollow(user1.getId(), user2.getId())).isFalse();
+        User follower = userRepository.findById(user1.getId()).orElseThrow();
+        User followed = userRepository.findById(user2.getId()).orElseThrow();
+        assertThat(follower.getFollowingCount()).isEqualTo(1);
+        assertThat(follower.getFollowersCount()).isZero();
+        assertThat(followed.getFollowersCount()).isEqualTo(1);
+        assertThat(userRepository.deleteFollow(user1.getId(), user2.getId())).isEqualTo(1);
+        assertThat(userRepository.deleteFollow(user1.getId(), user2.getId())).isZero();
+        assertThat(userRepository.existsFollow("userOne", user2.getId())).isFalse();
+        assertThat(followJdbcRepository.insertFollow(user2.getId(), user1.getId())).isTrue();
+        assertThat(userRepository.existsFollow("userTwo", user1.getId())).isTrue();
     }
-}
\ No newline at end of file
+}
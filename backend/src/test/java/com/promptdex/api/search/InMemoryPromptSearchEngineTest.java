@@ -0,0 +1,93 @@
+package com.promptdex.api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPromptSearchEngineTest {
+    private InMemoryPromptSearchEngine searchEngine;
+    private UUID javaBasics;
+    private UUID advancedTesting;
+    private UUID sqlQueries;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryPromptSearchEngine();
+        javaBasics = UUID.randomUUID();
+        advancedTesting = UUID.randomUUID();
+        sqlQueries = UUID.randomUUID();
+        searchEngine.index(new PromptDocument(javaBasics, "Java Basics", "Learn the basics of Java.", "Explain Java classes.",
+                Set.of("java"), Instant.parse("2024-01-01T00:00:00Z")));
+        searchEngine.index(new PromptDocument(advancedTesting, "Advanced Testing", "Testing strategies.", "Write JUnit tests in Java.",
+                Set.of("java", "testing"), Instant.parse("2024-01-02T00:00:00Z")));
+        searchEngine.index(new PromptDocument(sqlQueries, "SQL Queries", "A prompt about databases.", "A prompt about SQL.",
+                Set.of(), Instant.parse("2024-01-03T00:00:00Z")));
+    }
+
+    @Test
+    void search_ranksTitleMatchesFirst() {
+        Page<UUID> results = searchEngine.search("java", null, PageRequest.of(0, 10));
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThat(results.getContent()).containsExactly(javaBasics, advancedTesting);
+    }
+
+    @Test
+    void search_isCaseInsensitiveAndMatchesPrefixOfLastTerm() {
+        assertThat(searchEngine.search("bAsIcS", null, PageRequest.of(0, 10)).getContent()).containsExactly(javaBasics);
+        assertThat(searchEngine.search("junit tes", null, PageRequest.of(0, 10)).getContent()).containsExactly(advancedTesting);
+    }
+
+    @Test
+    void search_requiresAllTermsAndFiltersByTags() {
+        assertThat(searchEngine.search("java databases", null, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchEngine.search("java", List.of("testing"), PageRequest.of(0, 10)).getContent()).containsExactly(advancedTesting);
+    }
+
+    @Test
+    void search_pagesThroughRankedResults() {
+        Page<UUID> secondPage = searchEngine.search("java", null, PageRequest.of(1, 1));
+        assertThat(secondPage.getContent()).containsExactly(advancedTesting);
+        assertThat(secondPage.getTotalElements()).isEqualTo(2);
+        assertThat(secondPage.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void index_replacesPreviousVersionAndRemoveDropsDocument() {
+        searchEngine.index(new PromptDocument(sqlQueries, "Java SQL Queries", "JDBC from Java.", "A prompt about SQL.",
+                Set.of(), Instant.parse("2024-01-03T00:00:00Z")));
+        assertThat(searchEngine.search("jdbc", null, PageRequest.of(0, 10)).getContent()).containsExactly(sqlQueries);
+        assertThat(searchEngine.search("databases", null, PageRequest.of(0, 10)).getContent()).isEmpty();
+
+        searchEngine.remove(javaBasics);
+        assertThat(searchEngine.search("java", null, PageRequest.of(0, 10)).getContent()).containsExactlyInAnyOrder(advancedTesting, sqlQueries);
+        assertThat(searchEngine.size()).isEqualTo(2);
+    }
+
+    @Test
+    void search_withOnlyStopWordsOrPunctuation_listsAllPromptsNewestFirst() {
+        assertThat(searchEngine.search("the", null, PageRequest.of(0, 10)).getContent())
+                .containsExactly(sqlQueries, advancedTesting, javaBasics);
+        assertThat(searchEngine.search("?!", List.of("java"), PageRequest.of(0, 10)).getContent())
+                .containsExactly(advancedTesting, javaBasics);
+    }
+
+    @Test
+    void index_repeatedEditsCompactDocIdsToLivePrompts() {
+        for (int edit = 0; edit < 5000; edit++) {
+            searchEngine.index(new PromptDocument(sqlQueries, "SQL Queries " + edit, "A prompt about databases.", "A prompt about SQL.",
+                    Set.of(), Instant.parse("2024-01-03T00:00:00Z")));
+        }
+        assertThat(searchEngine.allocatedDocIds()).isLessThan(2000);
+        assertThat(searchEngine.search("4999", null, PageRequest.of(0, 10)).getContent()).containsExactly(sqlQueries);
+        assertThat(searchEngine.search("4998", null, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(searchEngine.search("java", null, PageRequest.of(0, 10)).getContent()).containsExactly(javaBasics, advancedTesting);
+    }
+}
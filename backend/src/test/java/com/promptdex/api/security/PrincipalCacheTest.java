@@ -0,0 +1,75 @@
+package com.promptdex.api.security;
+
+import com.promptdex.api.event.UserRolesChangedEvent;
+import com.promptdex.api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, 300);
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setUsername(username);
+            user.setRoles(Set.of("ROLE_USER"));
+            return new UserPrincipal(user);
+        };
+    }
+
+    @Test
+    void get_withSameToken_loadsPrincipalOnce() {
+        UserDetails first = principalCache.get("token-a", "alice", loader);
+        UserDetails second = principalCache.get("token-a", "alice", loader);
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_withDifferentTokens_loadsEachPrincipal() {
+        principalCache.get("token-a", "alice", loader);
+        principalCache.get("token-b", "alice", loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void onUserRolesChanged_forcesReloadForThatUserOnly() {
+        UserDetails alice = principalCache.get("token-a", "alice", loader);
+        UserDetails bob = principalCache.get("token-b", "bob", loader);
+        principalCache.onUserRolesChanged(new UserRolesChangedEvent(UUID.randomUUID(), "alice"));
+        assertThat(principalCache.get("token-a", "alice", loader)).isNotSameAs(alice);
+        assertThat(principalCache.get("token-b", "bob", loader)).isSameAs(bob);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidatedVersions_expireOnlyAfterOlderPrincipalsHave() {
+        AtomicLong nanos = new AtomicLong();
+        PrincipalCache cache = new PrincipalCache(100, 300, nanos::get);
+        UserDetails stale = cache.get("token-a", "alice", loader);
+        cache.invalidate("alice");
+        UserDetails fresh = cache.get("token-a", "alice", loader);
+        nanos.addAndGet(Duration.ofSeconds(301).toNanos());
+        assertThat(cache.get("token-a", "alice", loader)).isNotSameAs(stale).isNotSameAs(fresh);
+        nanos.addAndGet(Duration.ofSeconds(300).toNanos());
+        assertThat(cache.get("token-a", "alice", loader)).isNotSameAs(stale);
+        assertThat(loads.get()).isEqualTo(4);
+    }
+}
@@ -1,12 +1,15 @@
 package com.promptdex.api.service;
 
+import com.promptdex.api.dto.CollectionMembershipResponse;
 import com.promptdex.api.dto.CreateCollectionRequest;
+import com.promptdex.api.dto.PatchCollectionPromptsRequest;
+import com.promptdex.api.event.PromptActivityEvent;
 import com.promptdex.api.exception.CollectionAlreadyExistsException;
 import com.promptdex.api.exception.ResourceNotFoundException;
-import com.promptdex.api.mapper.PromptMapper;
 import com.promptdex.api.model.Collection;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.CollectionPromptJdbcRepository;
 import com.promptdex.api.repository.CollectionRepository;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.UserRepository;
@@ -16,13 +19,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +40,15 @@ class CollectionServiceTest {
     @Mock
     private CollectionRepository collectionRepository;
     @Mock
+    private CollectionPromptJdbcRepository collectionPromptJdbcRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private PromptRepository promptRepository;
     @Mock
-    private PromptMapper promptMapper;
+    private PromptSummaryService promptSummaryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private CollectionService collectionService;
     private User user;
@@ -75,19 +89,62 @@ class CollectionServiceTest {
 
     @Test
     void addPromptToCollection_whenUserOwnsCollection_shouldAddPrompt() {
-        when(collectionRepository.findByIdAndOwner_Username(collection.getId(), username)).thenReturn(Optional.of(collection));
-        when(promptRepository.findById(prompt.getId())).thenReturn(Optional.of(prompt));
-        when(collectionRepository.findByIdWithPrompts(collection.getId())).thenReturn(Optional.of(collection));
-        when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
-        collectionService.addPromptToCollection(collection.getId(), prompt.getId(), username);
-        assertTrue(collection.getPrompts().contains(prompt));
-        verify(collectionRepository, times(1)).save(collection);
+        when(collectionRepository.existsByIdAndOwner_Username(collection.getId(), username)).thenReturn(true);
+        when(promptRepository.existsById(prompt.getId())).thenReturn(true);
+        when(collectionPromptJdbcRepository.insertPrompt(collection.getId(), prompt.getId())).thenReturn(true);
+        when(collectionRepository.countPrompts(collection.getId())).thenReturn(1L);
+        CollectionMembershipResponse response = collectionService.addPromptToCollection(collection.getId(), prompt.getId(), username);
+        assertEquals(1, response.added());
+        assertEquals(1L, response.promptCount());
+        verify(eventPublisher).publishEvent(any(PromptActivityEvent.class));
+    }
+
+    @Test
+    void addPromptToCollection_whenPromptAlreadyInCollection_shouldNotPublishActivity() {
+        when(collectionRepository.existsByIdAndOwner_Username(collection.getId(), username)).thenReturn(true);
+        when(promptRepository.existsById(prompt.getId())).thenReturn(true);
+        when(collectionPromptJdbcRepository.insertPrompt(collection.getId(), prompt.getId())).thenReturn(false);
+        when(collectionRepository.countPrompts(collection.getId())).thenReturn(1L);
+        CollectionMembershipResponse response = collectionService.addPromptToCollection(collection.getId(), prompt.getId(), username);
+        assertEquals(0, response.added());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addPromptToCollection_whenUserDoesNotOwnCollection_shouldThrowResourceNotFound() {
+        when(collectionRepository.existsByIdAndOwner_Username(collection.getId(), username)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class,
+                () -> collectionService.addPromptToCollection(collection.getId(), prompt.getId(), username));
+        verifyNoInteractions(collectionPromptJdbcRepository);
+    }
+
+    @Test
+    void patchCollectionPrompts_shouldCountOnlyInsertedMembersAndLetAddsWinOverRemoves() {
+        UUID newId = UUID.randomUUID();
+        UUID dropId = UUID.randomUUID();
+        when(collectionRepository.existsByIdAndOwner_Username(collection.getId(), username)).thenReturn(true);
+        when(collectionRepository.deletePrompts(collection.getId(), Set.of(dropId))).thenReturn(1);
+        when(collectionPromptJdbcRepository.insertPrompts(collection.getId(), Set.of(prompt.getId(), newId))).thenReturn(List.of(newId));
+        when(collectionRepository.countPrompts(collection.getId())).thenReturn(2L);
+        PatchCollectionPromptsRequest request = new PatchCollectionPromptsRequest(Set.of(prompt.getId(), newId), Set.of(dropId, prompt.getId()));
+        CollectionMembershipResponse response = collectionService.patchCollectionPrompts(collection.getId(), request, username);
+        assertEquals(new CollectionMembershipResponse(collection.getId(), 1, 1, 2L), response);
+        verify(eventPublisher, times(1)).publishEvent(any(PromptActivityEvent.class));
+    }
+
+    @Test
+    void patchCollectionPrompts_whenTooManyChanges_shouldThrowIllegalArgument() {
+        Set<UUID> ids = Stream.generate(UUID::randomUUID).limit(501).collect(Collectors.toSet());
+        PatchCollectionPromptsRequest request = new PatchCollectionPromptsRequest(ids, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> collectionService.patchCollectionPrompts(collection.getId(), request, username));
+        verifyNoInteractions(collectionRepository);
     }
 
     @Test
     void getCollectionById_whenUserDoesNotOwnCollection_shouldThrowResourceNotFoundException() {
         assertThrows(ResourceNotFoundException.class, () -> {
-            collectionService.getCollectionById(collection.getId(), "someOtherUser");
+            collectionService.getCollectionById(collection.getId(), "someOtherUser", 0, 20);
         });
     }
 
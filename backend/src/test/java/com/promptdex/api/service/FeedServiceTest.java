@@ -1,11 +1,8 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.ActivityFeedItemDto;
-import com.promptdex.api.dto.PromptDto;
-import com.promptdex.api.mapper.PromptMapper;
-import com.promptdex.api.model.Prompt;
+import com.promptdex.api.dto.PromptSummaryDto;
 import com.promptdex.api.model.User;
-import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -31,9 +29,9 @@ public class FeedServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private PromptRepository promptRepository;
+    private FeedTimelineService feedTimelineService;
     @Mock
-    private PromptMapper promptMapper;
+    private PromptSummaryService promptSummaryService;
     @Mock
     private UserDetails userDetails;
     @InjectMocks
@@ -63,13 +61,13 @@ public class FeedServiceTest {
     void getFeedForUser_whenFollowingUsers_shouldReturnPageOfPrompts() {
         Pageable pageable = PageRequest.of(0, 10);
         when(userDetails.getUsername()).thenReturn(currentUser.getUsername());
-        when(userRepository.findByUsernameWithFollowing(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
-        List<UUID> followedUserIds = List.of(followedUser1.getId(), followedUser2.getId());
-        List<Prompt> prompts = List.of(new Prompt(), new Prompt());
-        Page<Prompt> promptPage = new PageImpl<>(prompts, pageable, prompts.size());
-        when(promptRepository.findByAuthor_IdInOrderByCreatedAtDesc(followedUserIds, pageable)).thenReturn(promptPage);
-        PromptDto mockPromptDto = mock(PromptDto.class);
-        when(promptMapper.toDto(any(Prompt.class), any(User.class))).thenReturn(mockPromptDto);
+        when(userRepository.findByUsername(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
+        List<UUID> promptIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        Page<UUID> promptIdPage = new PageImpl<>(promptIds, pageable, promptIds.size());
+        when(feedTimelineService.hasTimeline(currentUser.getId())).thenReturn(true);
+        when(feedTimelineService.getTimeline(currentUser.getId(), pageable)).thenReturn(promptIdPage);
+        List<PromptSummaryDto> summaries = List.of(mock(PromptSummaryDto.class), mock(PromptSummaryDto.class));
+        when(promptSummaryService.getSummaryPage(any(), any(User.class))).thenReturn(new PageImpl<>(summaries, pageable, summaries.size()));
         Page<ActivityFeedItemDto> result = feedService.getFeedForUser(userDetails, 0, 10);
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
@@ -79,10 +77,30 @@ public class FeedServiceTest {
     void getFeedForUser_whenFollowingNoOne_shouldReturnEmptyPage() {
         currentUser.setFollowing(new HashSet<>());
         when(userDetails.getUsername()).thenReturn(currentUser.getUsername());
-        when(userRepository.findByUsernameWithFollowing(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
+        when(userRepository.findByUsername(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
         Pageable pageable = PageRequest.of(0, 10);
+        Page<UUID> emptyIdPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(feedTimelineService.hasTimeline(currentUser.getId())).thenReturn(true);
+        when(feedTimelineService.getTimeline(currentUser.getId(), pageable)).thenReturn(emptyIdPage);
+        when(promptSummaryService.getSummaryPage(emptyIdPage, currentUser)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 0));
         Page<ActivityFeedItemDto> result = feedService.getFeedForUser(userDetails, 0, 10);
         assertThat(result).isNotNull();
         assertThat(result.getContent()).isEmpty();
     }
+
+    @Test
+    void getFeedForUser_whenConcurrentFirstLoadWinsTheInsert_readsTheTimelineItMaterialized() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(userDetails.getUsername()).thenReturn(currentUser.getUsername());
+        when(userRepository.findByUsername(currentUser.getUsername())).thenReturn(Optional.of(currentUser));
+        when(feedTimelineService.hasTimeline(currentUser.getId())).thenReturn(false);
+        when(feedTimelineService.materializeTimeline(currentUser.getId(), pageable))
+                .thenThrow(new DuplicateKeyException("pk_feed_timelines"));
+        Page<UUID> promptIdPage = new PageImpl<>(List.of(UUID.randomUUID()), pageable, 1);
+        when(feedTimelineService.getTimeline(currentUser.getId(), pageable)).thenReturn(promptIdPage);
+        when(promptSummaryService.getSummaryPage(promptIdPage, currentUser))
+                .thenReturn(new PageImpl<>(List.of(mock(PromptSummaryDto.class)), pageable, 1));
+        Page<ActivityFeedItemDto> result = feedService.getFeedForUser(userDetails, 0, 10);
+        assertThat(result.getContent()).hasSize(1);
+    }
 }
\ No newline at end of file
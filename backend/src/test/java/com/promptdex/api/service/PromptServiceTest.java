@@ -1,22 +1,41 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.CreatePromptRequest;
+import com.promptdex.api.dto.PatchPromptTagsRequest;
 import com.promptdex.api.dto.PromptDto;
+import com.promptdex.api.dto.ReviewDto;
+import com.promptdex.api.event.PromptActivityEvent;
+import com.promptdex.api.event.PromptSavedEvent;
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.event.UserBookmarksChangedEvent;
 import com.promptdex.api.mapper.PromptMapper;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.BookmarkJdbcRepository;
+import com.promptdex.api.repository.PromptJdbcRepository;
 import com.promptdex.api.repository.PromptRepository;
+import com.promptdex.api.repository.PromptTagJdbcRepository;
+import com.promptdex.api.repository.PromptVersionRow;
 import com.promptdex.api.repository.UserRepository;
+import com.promptdex.api.search.PromptSearchEngine;
+import com.promptdex.api.trending.TrendingTracker;
+import com.promptdex.api.util.ETagged;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,12 +48,32 @@ class PromptServiceTest {
     @Mock
     private PromptRepository promptRepository;
     @Mock
+    private PromptTagJdbcRepository promptTagJdbcRepository;
+    @Mock
+    private PromptJdbcRepository promptJdbcRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
+    private BookmarkJdbcRepository bookmarkJdbcRepository;
+    @Mock
     private TagService tagService;
     @Mock
     private PromptMapper promptMapper;
     @Mock
+    private PromptSummaryService promptSummaryService;
+    @Mock
+    private PromptDetailLoader promptDetailLoader;
+    @Mock
+    private ReviewService reviewService;
+    @Mock
+    private PromptSearchEngine promptSearchEngine;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PromptViewCounter promptViewCounter;
+    @Mock
+    private TrendingTracker trendingTracker;
+    @Mock
     private UserDetails userDetails;
     @InjectMocks
     private PromptService promptService;
@@ -60,18 +99,53 @@ class PromptServiceTest {
         mockPromptDto = mock(PromptDto.class);
     }
 
+    @Test
+    void getPromptById_shouldShareViewerIndependentLoadAndApplyViewerStatePerViewer() {
+        PromptDto shared = new PromptDto(promptId, "Original Title", "Text", null, "Model", "Category", "author",
+                null, null, 0.0, 0, Map.of(), 0, List.of(), null, List.of(), false, null);
+        ReviewDto ownReview = new ReviewDto(UUID.randomUUID(), 4, "Good", "otherUser", null, null);
+        PromptVersionRow version = new PromptVersionRow(Instant.parse("2024-01-01T00:00:00Z"), 1, 4, Instant.parse("2024-01-02T00:00:00Z"));
+        when(promptDetailLoader.load(promptId)).thenReturn(new PromptDetailLoader.Snapshot(shared, version));
+        when(userDetails.getUsername()).thenReturn("otherUser");
+        when(userRepository.existsBookmark("otherUser", promptId)).thenReturn(true);
+        when(reviewService.findViewerReview(promptId, "otherUser")).thenReturn(Optional.of(ownReview));
+        ETagged<PromptDto> viewed = promptService.getPromptById(promptId, userDetails);
+        assertTrue(viewed.body().isBookmarked());
+        assertSame(ownReview, viewed.body().viewerReview());
+        assertFalse(shared.isBookmarked());
+        assertNull(shared.viewerReview());
+        ETagged<PromptDto> anonymous = promptService.getPromptById(promptId, null);
+        assertSame(shared, anonymous.body());
+        assertNotEquals(viewed.etag(), anonymous.etag());
+        verify(promptViewCounter, times(2)).record(promptId);
+    }
+
+    @Test
+    void getPromptETag_shouldMatchTheTagOfTheLoadedDetailWithoutLoadingIt() {
+        PromptDto shared = new PromptDto(promptId, "Original Title", "Text", null, "Model", "Category", "author",
+                null, null, 4.0, 1, Map.of(), 7, List.of(), null, List.of(), false, null);
+        PromptVersionRow version = new PromptVersionRow(Instant.parse("2024-01-01T00:00:00Z"), 1, 4, Instant.parse("2024-01-02T00:00:00Z"));
+        when(promptDetailLoader.load(promptId)).thenReturn(new PromptDetailLoader.Snapshot(shared, version));
+        when(promptRepository.findVersionById(promptId)).thenReturn(Optional.of(version));
+        String etag = promptService.getPromptETag(promptId, null);
+        assertTrue(etag.startsWith("W/"));
+        verify(promptDetailLoader, never()).load(any());
+        assertEquals(promptService.getPromptById(promptId, null).etag(), etag);
+    }
+
     @Test
     void createPrompt_shouldSucceed() {
         CreatePromptRequest request = new CreatePromptRequest("Title", "Text", "Desc", "Model", "Category");
         when(userDetails.getUsername()).thenReturn("author");
         when(userRepository.findByUsername("author")).thenReturn(Optional.of(author));
         when(promptRepository.saveAndFlush(any(Prompt.class))).thenReturn(prompt);
-        when(promptMapper.toDto(eq(prompt), eq(author))).thenReturn(mockPromptDto);
+        when(promptMapper.toDto(eq(prompt), eq(0L), eq(false))).thenReturn(mockPromptDto);
         PromptDto resultDto = promptService.createPrompt(request, userDetails);
         assertNotNull(resultDto);
         assertSame(mockPromptDto, resultDto);
         verify(promptRepository, times(1)).saveAndFlush(any(Prompt.class));
-        verify(promptMapper, times(1)).toDto(eq(prompt), eq(author));
+        verify(promptMapper, times(1)).toDto(eq(prompt), eq(0L), eq(false));
+        verify(eventPublisher, times(1)).publishEvent(any(PromptSavedEvent.class));
     }
 
     @Test
@@ -81,7 +155,7 @@ class PromptServiceTest {
         when(userRepository.findByUsername("author")).thenReturn(Optional.of(author));
         when(promptRepository.findByIdWithAuthorAndTags(promptId)).thenReturn(Optional.of(prompt));
         when(promptRepository.save(prompt)).thenReturn(prompt);
-        when(promptMapper.toDto(eq(prompt), eq(author))).thenReturn(mockPromptDto);
+        when(promptMapper.toDto(eq(prompt), eq(0L), eq(false))).thenReturn(mockPromptDto);
         PromptDto resultDto = promptService.updatePrompt(promptId, request, userDetails);
         assertNotNull(resultDto);
         assertSame(mockPromptDto, resultDto, "The DTO returned by the mapper should be returned by the service");
@@ -101,7 +175,7 @@ class PromptServiceTest {
         });
         assertEquals("You do not have permission to edit this prompt.", exception.getMessage());
         verify(promptRepository, never()).save(any());
-        verify(promptMapper, never()).toDto(any(), any());
+        verify(promptMapper, never()).toDto(any(), anyLong(), anyBoolean());
     }
 
     @Test
@@ -125,4 +199,79 @@ class PromptServiceTest {
         assertEquals("You do not have permission to delete this prompt.", exception.getMessage());
         verify(promptRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTrendingPrompts_shouldRenderTrackerRankingWithClampedLimit() {
+        List<UUID> ranking = List.of(promptId, UUID.randomUUID());
+        when(trendingTracker.topPromptIds(100)).thenReturn(ranking);
+        when(promptSummaryService.getSummaries(ranking, null)).thenReturn(List.of());
+        promptService.getTrendingPrompts(500, null);
+        verify(trendingTracker).topPromptIds(100);
+        verify(promptSummaryService).getSummaries(ranking, null);
+        verifyNoInteractions(promptRepository);
+    }
+
+    @Test
+    void updatePromptTags_shouldWriteOnlyTheTagDiff() throws Exception {
+        UUID keptId = UUID.randomUUID();
+        UUID removedId = UUID.randomUUID();
+        UUID addedId = UUID.randomUUID();
+        when(userDetails.getUsername()).thenReturn("author");
+        when(userRepository.findByUsername("author")).thenReturn(Optional.of(author));
+        when(promptRepository.findAuthorIdById(promptId)).thenReturn(Optional.of(author.getId()));
+        when(tagService.findOrCreateTagIds(Set.of("kept", "added"))).thenReturn(Map.of("kept", keptId, "added", addedId));
+        when(promptTagJdbcRepository.findTagIds(promptId)).thenReturn(Map.of("kept", keptId, "removed", removedId));
+        when(promptRepository.findByIdWithAuthorAndTags(promptId)).thenReturn(Optional.of(prompt));
+        promptService.updatePromptTags(promptId, Set.of("kept", "added"), userDetails);
+        verify(promptTagJdbcRepository).insert(eq(promptId), argThat(ids -> List.copyOf(ids).equals(List.of(addedId))));
+        verify(promptTagJdbcRepository).delete(eq(promptId), argThat(ids -> List.copyOf(ids).equals(List.of(removedId))));
+        ArgumentCaptor<PromptTagsChangedEvent> eventCaptor = ArgumentCaptor.forClass(PromptTagsChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(Map.of("added", addedId), eventCaptor.getValue().addedTags());
+        assertEquals(Set.of("removed"), eventCaptor.getValue().removedTags());
+        verify(promptRepository, never()).save(any());
+    }
+
+    @Test
+    void patchPromptTags_withNoEffectiveChange_shouldNotPublishEvents() throws Exception {
+        UUID existingId = UUID.randomUUID();
+        when(userDetails.getUsername()).thenReturn("author");
+        when(userRepository.findByUsername("author")).thenReturn(Optional.of(author));
+        when(promptRepository.findAuthorIdById(promptId)).thenReturn(Optional.of(author.getId()));
+        when(tagService.findOrCreateTagIds(Set.of("existing"))).thenReturn(Map.of("existing", existingId));
+        when(promptTagJdbcRepository.findTagIds(promptId)).thenReturn(Map.of("existing", existingId));
+        when(promptRepository.findByIdWithAuthorAndTags(promptId)).thenReturn(Optional.of(prompt));
+        promptService.patchPromptTags(promptId, new PatchPromptTagsRequest(Set.of("existing"), Set.of("missing")), userDetails);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void patchPromptTags_whenUserIsNotAuthor_shouldThrowAccessDeniedException() {
+        when(userDetails.getUsername()).thenReturn("otherUser");
+        when(userRepository.findByUsername("otherUser")).thenReturn(Optional.of(otherUser));
+        when(promptRepository.findAuthorIdById(promptId)).thenReturn(Optional.of(author.getId()));
+        assertThrows(AccessDeniedException.class,
+                () -> promptService.patchPromptTags(promptId, new PatchPromptTagsRequest(Set.of("java"), null), userDetails));
+        verifyNoInteractions(promptTagJdbcRepository, tagService);
+    }
+
+    @Test
+    void addBookmark_whenAlreadyBookmarked_shouldNotPublishActivity() {
+        when(userRepository.findByUsername("otherUser")).thenReturn(Optional.of(otherUser));
+        when(promptRepository.existsById(promptId)).thenReturn(true);
+        when(bookmarkJdbcRepository.insertBookmark(otherUser.getId(), promptId)).thenReturn(false);
+        promptService.addBookmark(promptId, "otherUser");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addBookmarks_shouldPublishActivityOnlyForNewlyInsertedBookmarks() {
+        UUID newPromptId = UUID.randomUUID();
+        List<UUID> requested = List.of(promptId, newPromptId);
+        when(userRepository.findByUsername("otherUser")).thenReturn(Optional.of(otherUser));
+        when(bookmarkJdbcRepository.insertBookmarks(otherUser.getId(), requested)).thenReturn(List.of(newPromptId));
+        assertEquals(1, promptService.addBookmarks(requested, "otherUser"));
+        verify(eventPublisher, times(1)).publishEvent(any(PromptActivityEvent.class));
+        verify(eventPublisher).publishEvent(new UserBookmarksChangedEvent(otherUser.getId(), List.of(newPromptId)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.promptdex.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PromptViewCounterTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private PromptViewCounter promptViewCounter;
+
+    @Test
+    void flush_writesAccumulatedDeltasInOneBatchOrderedById() {
+        UUID first = new UUID(1L, 1L);
+        UUID second = new UUID(2L, 2L);
+        promptViewCounter.record(second);
+        promptViewCounter.record(first);
+        promptViewCounter.record(second);
+        promptViewCounter.record(second);
+        promptViewCounter.flush();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue()).containsExactly(new Object[]{1L, first}, new Object[]{3L, second});
+    }
+
+    @Test
+    void flush_withNothingRecorded_doesNotTouchTheDatabase() {
+        promptViewCounter.flush();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_afterFailure_retriesTheSameDeltas() {
+        UUID promptId = UUID.randomUUID();
+        promptViewCounter.record(promptId);
+        promptViewCounter.record(promptId);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[]{1});
+        promptViewCounter.flush();
+        promptViewCounter.record(promptId);
+        promptViewCounter.flush();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getAllValues().get(1)).containsExactly(new Object[]{3L, promptId});
+    }
+
+    @Test
+    void flush_dropsCountersOnlyAfterTheyStayIdle() {
+        UUID promptId = UUID.randomUUID();
+        promptViewCounter.record(promptId);
+        promptViewCounter.flush();
+        promptViewCounter.flush();
+        assertThat(promptViewCounter.pendingPromptCount()).isEqualTo(1);
+        promptViewCounter.record(promptId);
+        promptViewCounter.flush();
+        promptViewCounter.flush();
+        assertThat(promptViewCounter.pendingPromptCount()).isEqualTo(1);
+        promptViewCounter.flush();
+        assertThat(promptViewCounter.pendingPromptCount()).isZero();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flush_concurrentWithRecording_losesNoViews() throws Exception {
+        UUID promptId = UUID.randomUUID();
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> flushed.addAndGet((Long) row[0]));
+            return new int[rows.size()];
+        });
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                recorders.add(executor.submit(() -> {
+                    for (int view = 0; view < viewsPerThread; view++) {
+                        promptViewCounter.record(promptId);
+                    }
+                }));
+            }
+            while (recorders.stream().anyMatch(recorder -> !recorder.isDone())) {
+                promptViewCounter.flush();
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        promptViewCounter.flush();
+        assertThat(flushed.get()).isEqualTo((long) threads * viewsPerThread);
+    }
+}
@@ -3,11 +3,13 @@ package com.promptdex.api.service;
 import com.promptdex.api.dto.CreateReviewRequest;
 import com.promptdex.api.dto.ReviewDto;
 import com.promptdex.api.dto.UpdateReviewRequest;
+import com.promptdex.api.event.PromptActivityEvent;
 import com.promptdex.api.exception.ResourceNotFoundException;
 import com.promptdex.api.exception.ReviewAlreadyExistsException;
 import com.promptdex.api.model.Prompt;
 import com.promptdex.api.model.Review;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.PromptJdbcRepository;
 import com.promptdex.api.repository.PromptRepository;
 import com.promptdex.api.repository.ReviewRepository;
 import com.promptdex.api.repository.UserRepository;
@@ -18,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -39,8 +42,12 @@ public class ReviewServiceTest {
     @Mock
     private PromptRepository promptRepository;
     @Mock
+    private PromptJdbcRepository promptJdbcRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private UserDetails userDetails;
     @InjectMocks
     private ReviewService reviewService;
@@ -80,12 +87,6 @@ public class ReviewServiceTest {
         updateRequest = new UpdateReviewRequest(3, "Okay prompt.");
     }
 
-    private void mockUpdatePromptAverageRatingInteractions(UUID targetPromptId, Double newAverageRating) {
-        when(promptRepository.findById(targetPromptId)).thenReturn(Optional.of(prompt));
-        when(promptRepository.findAverageRatingByPromptId(targetPromptId)).thenReturn(Optional.ofNullable(newAverageRating));
-        when(promptRepository.save(any(Prompt.class))).thenAnswer(invocation -> invocation.getArgument(0));
-    }
-
     @Test
     void createReview_whenUserIsNotAuthorAndHasNotReviewed_shouldSucceed() {
         when(userDetails.getUsername()).thenReturn(reviewer.getUsername());
@@ -102,7 +103,6 @@ public class ReviewServiceTest {
         savedReview.setCreatedAt(Instant.now());
         savedReview.setUpdatedAt(Instant.now());
         when(reviewRepository.saveAndFlush(reviewCaptor.capture())).thenReturn(savedReview);
-        mockUpdatePromptAverageRatingInteractions(promptId, (double) createRequest.rating());
         ReviewDto result = reviewService.createReview(promptId, createRequest, userDetails);
         assertThat(result).isNotNull();
         assertThat(result.authorUsername()).isEqualTo(reviewer.getUsername());
@@ -113,9 +113,13 @@ public class ReviewServiceTest {
         assertThat(capturedReview.getUser()).isEqualTo(reviewer);
         assertThat(capturedReview.getRating()).isEqualTo(createRequest.rating());
         verify(reviewRepository).saveAndFlush(any(Review.class));
-        verify(promptRepository, times(2)).findById(promptId);
-        verify(promptRepository).findAverageRatingByPromptId(promptId);
-        verify(promptRepository).save(prompt);
+        verify(promptRepository).findById(promptId);
+        verify(promptJdbcRepository).applyRatingChange(promptId, 5, 0);
+        verify(promptRepository, never()).save(any());
+        ArgumentCaptor<PromptActivityEvent> eventCaptor = ArgumentCaptor.forClass(PromptActivityEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().promptId()).isEqualTo(promptId);
+        assertThat(eventCaptor.getValue().type()).isEqualTo(PromptActivityEvent.Type.REVIEW);
     }
 
     @Test
@@ -161,7 +165,6 @@ public class ReviewServiceTest {
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
         ArgumentCaptor<Review> reviewCaptor = ArgumentCaptor.forClass(Review.class);
         when(reviewRepository.save(reviewCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
-        mockUpdatePromptAverageRatingInteractions(promptId, (double) updateRequest.rating());
         ReviewDto result = reviewService.updateReview(reviewId, updateRequest, userDetails);
         assertThat(result).isNotNull();
         assertThat(result.rating()).isEqualTo(updateRequest.rating());
@@ -172,9 +175,8 @@ public class ReviewServiceTest {
         assertThat(captured.getRating()).isEqualTo(updateRequest.rating());
         assertThat(captured.getComment()).isEqualTo(updateRequest.comment());
         verify(reviewRepository).save(any(Review.class));
-        verify(promptRepository).findById(promptId);
-        verify(promptRepository).findAverageRatingByPromptId(promptId);
-        verify(promptRepository).save(prompt);
+        verify(promptJdbcRepository).applyRatingChange(promptId, 3, 4);
+        verify(promptRepository, never()).save(any());
     }
 
     @Test
@@ -209,12 +211,10 @@ public class ReviewServiceTest {
         when(userRepository.findByUsername(reviewer.getUsername())).thenReturn(Optional.of(reviewer));
         when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
         doNothing().when(reviewRepository).delete(eq(review));
-        mockUpdatePromptAverageRatingInteractions(promptId, null);
         reviewService.deleteReview(reviewId, userDetails);
         verify(reviewRepository, times(1)).delete(review);
-        verify(promptRepository).findById(promptId);
-        verify(promptRepository).findAverageRatingByPromptId(promptId);
-        verify(promptRepository).save(prompt);
+        verify(promptJdbcRepository).applyRatingChange(promptId, 0, 4);
+        verify(promptRepository, never()).save(any());
     }
 
     @Test
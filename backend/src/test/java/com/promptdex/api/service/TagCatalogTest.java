@@ -0,0 +1,78 @@
+package com.promptdex.api.service;
+
+import com.promptdex.api.dto.TagUsageDto;
+import com.promptdex.api.event.PromptTagsChangedEvent;
+import com.promptdex.api.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagCatalogTest {
+    private static final UUID JAVA_ID = UUID.randomUUID();
+    private static final UUID SPRING_ID = UUID.randomUUID();
+    @Mock
+    private TagRepository tagRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private TagCatalog tagCatalog;
+
+    @BeforeEach
+    void setUp() {
+        tagCatalog = new TagCatalog(tagRepository, transactionManager);
+    }
+
+    @Test
+    void reload_replacesIncrementalCountsWithTheQueriedUsage() {
+        tagCatalog.onPromptTagsChanged(new PromptTagsChangedEvent(UUID.randomUUID(), Map.of("java", JAVA_ID), Set.of()));
+        when(tagRepository.findTagUsage()).thenReturn(List.<Object[]>of(
+                new Object[]{JAVA_ID, "java", 3L},
+                new Object[]{SPRING_ID, "spring", 1L}));
+
+        tagCatalog.reload();
+
+        assertThat(tagCatalog.popular(10)).containsExactly(new TagUsageDto("java", 3), new TagUsageDto("spring", 1));
+    }
+
+    @Test
+    void reload_whenATagChangeIsAppliedDuringTheQuery_queriesAgainInsteadOfLosingIt() {
+        when(tagRepository.findTagUsage())
+                .thenAnswer(invocation -> {
+                    tagCatalog.onPromptTagsChanged(new PromptTagsChangedEvent(UUID.randomUUID(), Map.of("spring", SPRING_ID), Set.of()));
+                    return List.<Object[]>of(new Object[]{JAVA_ID, "java", 1L});
+                })
+                .thenReturn(List.<Object[]>of(
+                        new Object[]{JAVA_ID, "java", 1L},
+                        new Object[]{SPRING_ID, "spring", 1L}));
+
+        tagCatalog.reload();
+
+        verify(tagRepository, times(2)).findTagUsage();
+        assertThat(tagCatalog.findTagId("spring")).contains(SPRING_ID);
+        assertThat(tagCatalog.popular(10)).containsExactly(new TagUsageDto("java", 1), new TagUsageDto("spring", 1));
+    }
+
+    @Test
+    void reload_whenTagsKeepChanging_keepsTheIncrementallyMaintainedCatalog() {
+        when(tagRepository.findTagUsage()).thenAnswer(invocation -> {
+            tagCatalog.onPromptTagsChanged(new PromptTagsChangedEvent(UUID.randomUUID(), Map.of("spring", SPRING_ID), Set.of()));
+            return List.<Object[]>of();
+        });
+
+        tagCatalog.reload();
+
+        verify(tagRepository, times(3)).findTagUsage();
+        assertThat(tagCatalog.popular(10)).containsExactly(new TagUsageDto("spring", 3));
+    }
+}
@@ -1,7 +1,6 @@
 package com.promptdex.api.service;
 
-import com.promptdex.api.model.Tag;
-import com.promptdex.api.repository.TagRepository;
+import com.promptdex.api.repository.TagJdbcRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,60 +8,53 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TagServiceTest {
     @Mock
-    private TagRepository tagRepository;
+    private TagJdbcRepository tagJdbcRepository;
+    @Mock
+    private TagCatalog tagCatalog;
     @InjectMocks
     private TagService tagService;
 
     @Test
-    void findOrCreateTags_withMixedCaseAndNewTags_shouldReturnCorrectSet() {
-        Set<String> inputTagNames = Set.of("SciFi", "horror", "NEW-TAG");
-        Tag existingTag = new Tag();
-        existingTag.setName("scifi");
-        Set<Tag> existingTagsFromRepo = new HashSet<>();
-        existingTagsFromRepo.add(existingTag);
-        when(tagRepository.findByNameInIgnoreCase(Set.of("scifi", "horror", "new-tag")))
-                .thenReturn(existingTagsFromRepo);
-        Set<Tag> resultTags = tagService.findOrCreateTags(inputTagNames);
-        assertEquals(3, resultTags.size());
-        Set<String> resultTagNames = resultTags.stream().map(Tag::getName).collect(Collectors.toSet());
-        assertTrue(resultTagNames.contains("scifi"));
-        assertTrue(resultTagNames.contains("horror"));
-        assertTrue(resultTagNames.contains("new-tag"));
-        verify(tagRepository, times(1)).saveAll(any());
+    void findOrCreateTagIds_withMixedCaseAndNewTags_shouldUpsertNormalizedNames() {
+        Map<String, UUID> upserted = Map.of("scifi", UUID.randomUUID(), "horror", UUID.randomUUID(), "new-tag", UUID.randomUUID());
+        when(tagJdbcRepository.upsertTagIds(Set.of("scifi", "horror", "new-tag"))).thenReturn(upserted);
+        assertEquals(upserted, tagService.findOrCreateTagIds(Set.of("SciFi", "horror", "NEW-TAG")));
+    }
+
+    @Test
+    void findOrCreateTagIds_withTagsKnownToCatalog_shouldOnlyUpsertUnknownNames() {
+        UUID knownId = UUID.randomUUID();
+        UUID freshId = UUID.randomUUID();
+        when(tagCatalog.findTagId("known")).thenReturn(Optional.of(knownId));
+        when(tagCatalog.findTagId("fresh")).thenReturn(Optional.empty());
+        when(tagJdbcRepository.upsertTagIds(Set.of("fresh"))).thenReturn(Map.of("fresh", freshId));
+        Map<String, UUID> tagIds = tagService.findOrCreateTagIds(Set.of("Known", "fresh"));
+        assertEquals(Map.of("known", knownId, "fresh", freshId), tagIds);
     }
 
     @Test
-    void findOrCreateTags_withOnlyExistingTags_shouldNotCallSaveAll() {
-        Set<String> inputTagNames = Set.of("Existing1", "existing2");
-        Tag tag1 = new Tag();
-        tag1.setName("existing1");
-        Tag tag2 = new Tag();
-        tag2.setName("existing2");
-        Set<Tag> existingTagsFromRepo = Set.of(tag1, tag2);
-        when(tagRepository.findByNameInIgnoreCase(Set.of("existing1", "existing2")))
-                .thenReturn(existingTagsFromRepo);
-        Set<Tag> resultTags = tagService.findOrCreateTags(inputTagNames);
-        assertEquals(2, resultTags.size());
-        verify(tagRepository, never()).saveAll(any());
+    void findOrCreateTagIds_withOnlyKnownTags_shouldNotTouchTheDatabase() {
+        UUID knownId = UUID.randomUUID();
+        when(tagCatalog.findTagId("known")).thenReturn(Optional.of(knownId));
+        assertEquals(Map.of("known", knownId), tagService.findOrCreateTagIds(Set.of("known")));
+        verifyNoInteractions(tagJdbcRepository);
     }
 
     @Test
-    void findOrCreateTags_withEmptySet_shouldReturnEmptySet() {
-        Set<Tag> resultTags = tagService.findOrCreateTags(Collections.emptySet());
-        assertTrue(resultTags.isEmpty());
-        verify(tagRepository, never()).findByNameInIgnoreCase(any());
-        verify(tagRepository, never()).saveAll(any());
+    void findOrCreateTagIds_withEmptySet_shouldReturnEmptyMap() {
+        assertTrue(tagService.findOrCreateTagIds(Collections.emptySet()).isEmpty());
+        verifyNoInteractions(tagJdbcRepository);
     }
-}
\ No newline at end of file
+}
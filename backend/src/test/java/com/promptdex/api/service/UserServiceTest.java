@@ -1,9 +1,12 @@
 package com.promptdex.api.service;
 
 import com.promptdex.api.dto.ProfileDto;
+import com.promptdex.api.event.UserFollowedEvent;
+import com.promptdex.api.event.UserUnfollowedEvent;
 import com.promptdex.api.exception.ResourceNotFoundException;
 import com.promptdex.api.mapper.UserMapper;
 import com.promptdex.api.model.User;
+import com.promptdex.api.repository.FollowJdbcRepository;
 import com.promptdex.api.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.HashSet;
@@ -19,6 +23,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -30,6 +35,10 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
     @Mock
+    private FollowJdbcRepository followJdbcRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
     private UserDetails mockUserDetails;
     @InjectMocks
     private UserService userService;
@@ -55,30 +64,46 @@ class UserServiceTest {
     @Test
     void followUser_shouldSuccessfullyFollowUser() {
         when(mockUserDetails.getUsername()).thenReturn(testCurrentUser.getUsername());
-        when(userRepository.findByUsernameWithFollowing(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
+        when(userRepository.findByUsername(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
+        when(userRepository.findByUsername(testUserToFollow.getUsername())).thenReturn(Optional.of(testUserToFollow));
+        when(followJdbcRepository.insertFollow(testCurrentUser.getId(), testUserToFollow.getId())).thenReturn(true);
+        when(userRepository.findById(testUserToFollow.getId())).thenReturn(Optional.of(testUserToFollow));
+        when(userMapper.toProfileDto(testUserToFollow, true)).thenReturn(mockProfileDto);
+        ProfileDto resultDto = userService.followUser(testUserToFollow.getUsername(), mockUserDetails);
+        verify(userMapper, times(1)).toProfileDto(testUserToFollow, true);
+        assertEquals(mockProfileDto, resultDto);
+        verify(userRepository).adjustFollowCounts(testCurrentUser.getId(), testUserToFollow.getId(), 1);
+        verify(eventPublisher).publishEvent(new UserFollowedEvent(testCurrentUser.getId(), testUserToFollow.getId()));
+    }
+
+    @Test
+    void followUser_whenAlreadyFollowing_shouldNotPublishEvent() {
+        when(mockUserDetails.getUsername()).thenReturn(testCurrentUser.getUsername());
+        when(userRepository.findByUsername(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
         when(userRepository.findByUsername(testUserToFollow.getUsername())).thenReturn(Optional.of(testUserToFollow));
-        when(userMapper.toProfileDto(eq(testUserToFollow), eq(testCurrentUser))).thenReturn(mockProfileDto);
+        when(followJdbcRepository.insertFollow(testCurrentUser.getId(), testUserToFollow.getId())).thenReturn(false);
+        when(userMapper.toProfileDto(testUserToFollow, true)).thenReturn(mockProfileDto);
         ProfileDto resultDto = userService.followUser(testUserToFollow.getUsername(), mockUserDetails);
-        verify(userMapper, times(1)).toProfileDto(eq(testUserToFollow), eq(testCurrentUser));
         assertEquals(mockProfileDto, resultDto);
-        assertTrue(testCurrentUser.getFollowing().contains(testUserToFollow), "currentUser should be following userToFollow");
-        assertTrue(testUserToFollow.getFollowers().contains(testCurrentUser), "userToFollow should have currentUser as a follower");
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).adjustFollowCounts(any(), any(), anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void unfollowUser_shouldSuccessfullyUnfollowUser() {
-        testCurrentUser.getFollowing().add(testUserToFollow);
-        testUserToFollow.getFollowers().add(testCurrentUser);
         when(mockUserDetails.getUsername()).thenReturn(testCurrentUser.getUsername());
-        when(userRepository.findByUsernameWithFollowing(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
+        when(userRepository.findByUsername(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
         when(userRepository.findByUsername(testUserToFollow.getUsername())).thenReturn(Optional.of(testUserToFollow));
+        when(userRepository.deleteFollow(testCurrentUser.getId(), testUserToFollow.getId())).thenReturn(1);
+        when(userRepository.findById(testUserToFollow.getId())).thenReturn(Optional.of(testUserToFollow));
         ProfileDto unfollowedProfileDto = new ProfileDto(testUserToFollow.getUsername(), 0, 0, false);
-        when(userMapper.toProfileDto(eq(testUserToFollow), eq(testCurrentUser))).thenReturn(unfollowedProfileDto);
+        when(userMapper.toProfileDto(testUserToFollow, false)).thenReturn(unfollowedProfileDto);
         ProfileDto resultDto = userService.unfollowUser(testUserToFollow.getUsername(), mockUserDetails);
-        verify(userMapper, times(1)).toProfileDto(eq(testUserToFollow), eq(testCurrentUser));
+        verify(userMapper, times(1)).toProfileDto(testUserToFollow, false);
         assertEquals(unfollowedProfileDto, resultDto);
-        assertFalse(testCurrentUser.getFollowing().contains(testUserToFollow), "currentUser should NOT be following userToFollow");
-        assertFalse(testUserToFollow.getFollowers().contains(testCurrentUser), "userToFollow should NOT have currentUser as a follower");
+        verify(userRepository).adjustFollowCounts(testCurrentUser.getId(), testUserToFollow.getId(), -1);
+        verify(eventPublisher).publishEvent(new UserUnfollowedEvent(testCurrentUser.getId(), testUserToFollow.getId()));
     }
 
     @Test
@@ -104,7 +129,7 @@ class UserServiceTest {
     @Test
     void followUser_shouldThrowException_whenUserToFollowNotFound() {
         when(mockUserDetails.getUsername()).thenReturn(testCurrentUser.getUsername());
-        when(userRepository.findByUsernameWithFollowing(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
+        when(userRepository.findByUsername(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
         when(userRepository.findByUsername("nonExistentUser")).thenReturn(Optional.empty());
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             userService.followUser("nonExistentUser", mockUserDetails);
@@ -116,7 +141,7 @@ class UserServiceTest {
     @Test
     void followUser_shouldThrowException_whenCurrentUserNotFound() {
         when(mockUserDetails.getUsername()).thenReturn("nonExistentCurrentUser");
-        when(userRepository.findByUsernameWithFollowing("nonExistentCurrentUser")).thenReturn(Optional.empty());
+        when(userRepository.findByUsername("nonExistentCurrentUser")).thenReturn(Optional.empty());
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             userService.followUser(testUserToFollow.getUsername(), mockUserDetails);
         });
@@ -129,24 +154,24 @@ class UserServiceTest {
         ProfileDto expectedProfile = new ProfileDto(testUserToFollow.getUsername(), 0, 0, false);
         when(mockUserDetails.getUsername()).thenReturn(testCurrentUser.getUsername());
         when(userRepository.findByUsername(testUserToFollow.getUsername())).thenReturn(Optional.of(testUserToFollow));
-        when(userRepository.findByUsernameWithFollowing(testCurrentUser.getUsername())).thenReturn(Optional.of(testCurrentUser));
-        when(userMapper.toProfileDto(eq(testUserToFollow), eq(testCurrentUser))).thenReturn(expectedProfile);
+        when(userRepository.existsFollow(testCurrentUser.getUsername(), testUserToFollow.getId())).thenReturn(false);
+        when(userMapper.toProfileDto(testUserToFollow, false)).thenReturn(expectedProfile);
         ProfileDto actualProfile = userService.getProfile(testUserToFollow.getUsername(), mockUserDetails);
         assertNotNull(actualProfile);
         assertEquals(expectedProfile, actualProfile);
-        verify(userMapper, times(1)).toProfileDto(testUserToFollow, testCurrentUser);
+        verify(userMapper, times(1)).toProfileDto(testUserToFollow, false);
     }
 
     @Test
     void getProfile_withNullPrincipal_shouldReturnPublicProfile() {
         ProfileDto expectedProfile = new ProfileDto(testUserToFollow.getUsername(), 0, 0, false);
         when(userRepository.findByUsername(testUserToFollow.getUsername())).thenReturn(Optional.of(testUserToFollow));
-        when(userMapper.toProfileDto(eq(testUserToFollow), eq(null))).thenReturn(expectedProfile);
+        when(userMapper.toProfileDto(testUserToFollow, false)).thenReturn(expectedProfile);
         ProfileDto actualProfile = userService.getProfile(testUserToFollow.getUsername(), null);
         assertNotNull(actualProfile);
         assertEquals(expectedProfile, actualProfile);
-        verify(userRepository, never()).findByUsernameWithFollowing(anyString());
-        verify(userMapper, times(1)).toProfileDto(testUserToFollow, null);
+        verify(userRepository, never()).existsFollow(anyString(), any());
+        verify(userMapper, times(1)).toProfileDto(testUserToFollow, false);
     }
 
     @Test
@@ -156,7 +181,7 @@ class UserServiceTest {
             userService.getProfile("nonExistentUser", mockUserDetails);
         });
         assertTrue(exception.getMessage().contains("User not found with username: nonExistentUser"));
-        verify(userMapper, never()).toProfileDto(any(), any());
-        verify(userRepository, never()).findByUsernameWithFollowing(anyString());
+        verify(userMapper, never()).toProfileDto(any(), anyBoolean());
+        verify(userRepository, never()).existsFollow(anyString(), any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.promptdex.api.trending;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingTrackerTest {
+    private static final Instant NOW = Instant.parse("2025-06-01T12:30:00Z");
+    private TrendingTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TrendingTracker(72, 12, 2);
+    }
+
+    @Test
+    void refresh_ranksRecentActivityAboveOlderActivityOfSameWeight() {
+        UUID fresh = UUID.randomUUID();
+        UUID stale = UUID.randomUUID();
+        tracker.record(stale, 3, NOW.minus(Duration.ofHours(24)));
+        tracker.record(stale, 3, NOW.minus(Duration.ofHours(24)));
+        tracker.record(fresh, 3, NOW);
+        tracker.record(fresh, 2, NOW.minus(Duration.ofHours(1)));
+        tracker.refresh(NOW);
+        assertThat(tracker.topPromptIds(10)).containsExactly(fresh, stale);
+    }
+
+    @Test
+    void refresh_keepsOnlyTopCapacityPrompts() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        tracker.record(first, 3, NOW);
+        tracker.record(second, 2, NOW);
+        tracker.record(third, 1, NOW);
+        tracker.refresh(NOW);
+        assertThat(tracker.topPromptIds(10)).containsExactly(first, second);
+        assertThat(tracker.topPromptIds(1)).containsExactly(first);
+    }
+
+    @Test
+    void refresh_dropsActivityOutsideWindow() {
+        UUID promptId = UUID.randomUUID();
+        tracker.record(promptId, 3, NOW.minus(Duration.ofHours(73)));
+        tracker.refresh(NOW);
+        assertThat(tracker.topPromptIds(10)).isEmpty();
+    }
+
+    @Test
+    void record_overwritesRecycledBucketFromPreviousWindow() {
+        UUID promptId = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        tracker.record(promptId, 100, NOW.minus(Duration.ofHours(72)));
+        tracker.record(promptId, 1, NOW);
+        tracker.record(other, 2, NOW);
+        tracker.refresh(NOW);
+        assertThat(tracker.topPromptIds(10)).containsExactly(other, promptId);
+    }
+
+    @Test
+    void remove_dropsPromptFromRankingAndActivity() {
+        UUID kept = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        tracker.record(kept, 1, NOW);
+        tracker.record(removed, 3, NOW);
+        tracker.refresh(NOW);
+        tracker.remove(removed);
+        assertThat(tracker.topPromptIds(10)).containsExactly(kept);
+        tracker.refresh(NOW);
+        assertThat(tracker.topPromptIds(10)).containsExactly(kept);
+    }
+}
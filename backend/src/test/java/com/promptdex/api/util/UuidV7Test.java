@@ -0,0 +1,39 @@
+package com.promptdex.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+    @Test
+    void next_setsVersionAndVariant() {
+        UUID id = UuidV7.next();
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void next_embedsCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long embeddedMillis = id.getMostSignificantBits() >>> 16;
+        assertThat(embeddedMillis).isGreaterThanOrEqualTo(before).isLessThanOrEqualTo(System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_isStrictlyIncreasingInByteOrder() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7.next();
+            assertThat(compareUnsigned(previous, current)).isNegative();
+            previous = current;
+        }
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
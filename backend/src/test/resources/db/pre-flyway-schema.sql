@@ -0,0 +1,24 @@
+-- A database as Hibernate's ddl-auto=update created it before the Flyway migrations existed
+create table users (id uuid not null, email varchar(255) not null unique, password varchar(255), provider VARCHAR(255) DEFAULT 'LOCAL' not null check (provider in ('LOCAL','GOOGLE','GITHUB')), username varchar(255) not null unique, primary key (id));
+create table user_roles (user_id uuid not null, role_name varchar(255) not null, primary key (user_id, role_name));
+create table user_follows (followed_id uuid not null, user_id uuid not null, primary key (followed_id, user_id));
+create table prompts (average_rating float(53), created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, author_id uuid not null, id uuid not null, category varchar(255) not null, description TEXT, prompt_text TEXT not null, target_ai_model varchar(255) not null, title varchar(255) not null, primary key (id));
+create table tags (id uuid not null, name varchar(50) not null unique, primary key (id));
+create table prompt_tags (prompt_id uuid not null, tag_id uuid not null, primary key (prompt_id, tag_id));
+create table user_bookmarks (prompt_id uuid not null, user_id uuid not null, primary key (prompt_id, user_id));
+create table reviews (rating integer not null, created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, id uuid not null, prompt_id uuid not null, user_id uuid not null, comment TEXT, primary key (id));
+create table collections (created_at timestamp(6) with time zone not null, updated_at timestamp(6) with time zone not null, id uuid not null, owner_id uuid not null, description TEXT, name varchar(255) not null, primary key (id));
+create table collection_prompts (collection_id uuid not null, prompt_id uuid not null, primary key (collection_id, prompt_id));
+alter table if exists user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users;
+alter table if exists user_follows add constraint FKaf4mv2ryf3ba3e1t1uu9pkrcs foreign key (followed_id) references users;
+alter table if exists user_follows add constraint FKbrq9ij0s0mo3gq9kbdp0xnfdd foreign key (user_id) references users;
+alter table if exists prompts add constraint FKq4k5rnbbnuk1jsmipk0dc7hqm foreign key (author_id) references users;
+alter table if exists prompt_tags add constraint FKj6v1la7eo2nyk2hd3wcgnp2fk foreign key (tag_id) references tags;
+alter table if exists prompt_tags add constraint FKr0ee7c34ybo8ms9pr1ygkr6li foreign key (prompt_id) references prompts;
+alter table if exists user_bookmarks add constraint FKoq4hotle3xhx8aeuhi9pqxcs8 foreign key (prompt_id) references prompts;
+alter table if exists user_bookmarks add constraint FK3d7fdxb9c7xt0tbqmf6j0fgnt foreign key (user_id) references users;
+alter table if exists reviews add constraint FKlcgfe3yyafjpxrnb5bqgrab8u foreign key (prompt_id) references prompts;
+alter table if exists reviews add constraint FKcgy7qjc1r99dp117y9en6lxye foreign key (user_id) references users;
+alter table if exists collections add constraint FKeqbm6c8wcx3obgo5tyqxrxt0b foreign key (owner_id) references users;
+alter table if exists collection_prompts add constraint FK2hmbcjejf0c5f6pj3asuwiuo1 foreign key (prompt_id) references prompts;
+alter table if exists collection_prompts add constraint FKq09s58gyxg4ogdwxwvbe81mv9 foreign key (collection_id) references collections;
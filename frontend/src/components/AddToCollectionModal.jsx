@@ -29,12 +29,10 @@ const AddToCollectionModal = ({ isOpen, onClose, promptId, promptTitle }) => {
   }, [isOpen, fetchCollections]);
 
 
-  const handleAddToCollection = async (collectionId) => {
+  const handleAddToCollection = async (collectionId, collectionName) => {
     try {
-
-      const response = await api.addPromptToCollection(collectionId, promptId);
-      const updatedCollection = response.data; 
-      toast.success(`'${promptTitle}' added to '${updatedCollection.name}'!`);
+      await api.addPromptToCollection(collectionId, promptId);
+      toast.success(`'${promptTitle}' added to '${collectionName}'!`);
       onClose(); 
     } catch (error) {
       toast.error(error.response?.data?.message || "Failed to add prompt to collection.");
@@ -51,7 +49,7 @@ const AddToCollectionModal = ({ isOpen, onClose, promptId, promptTitle }) => {
           const createResponse = await api.createCollection({ name: newCollectionName, description: '' });
           const newCollection = createResponse.data;
 
-          await handleAddToCollection(newCollection.id);
+          await handleAddToCollection(newCollection.id, newCollection.name);
           
           setIsCreating(false);
           setNewCollectionName('');
@@ -77,7 +75,7 @@ const AddToCollectionModal = ({ isOpen, onClose, promptId, promptTitle }) => {
               {collections.map(collection => (
                 <button
                   key={collection.id}
-                  onClick={() => handleAddToCollection(collection.id)}
+                  onClick={() => handleAddToCollection(collection.id, collection.name)}
                   className="w-full text-left p-3 bg-gray-100 rounded-md hover:bg-gray-200"
                 >
                   <p className="font-semibold">{collection.name}</p>
@@ -13,11 +13,12 @@ const CollectionDetailPage = () => {
 
   const [collection, setCollection] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [page, setPage] = useState(0);
 
   const fetchCollection = useCallback(async () => {
     try {
       setLoading(true);
-      const response = await api.getCollectionById(collectionId);
+      const response = await api.getCollectionById(collectionId, { page });
       setCollection(response.data);
     } catch (error) {
       toast.error("Could not load collection details.");
@@ -25,7 +26,7 @@ const CollectionDetailPage = () => {
     } finally {
       setLoading(false);
     }
-  }, [collectionId, navigate]);
+  }, [collectionId, page, navigate]);
 
   useEffect(() => {
     fetchCollection();
@@ -36,8 +37,12 @@ const CollectionDetailPage = () => {
       try {
           await api.removePromptFromCollection(collectionId, promptId);
           toast.success(`"${promptTitle}" removed from collection.`);
-          // Refresh the collection data
-          fetchCollection();
+          // Step back a page if the removed prompt was the last one on it
+          if (collection.prompts.content.length === 1 && page > 0) {
+              setPage(page - 1);
+          } else {
+              fetchCollection();
+          }
       } catch (error) {
           toast.error("Failed to remove prompt.");
       }
@@ -57,6 +62,9 @@ const CollectionDetailPage = () => {
   if (loading) return <Spinner />;
   if (!collection) return <div className="text-center text-red-500">Collection not found.</div>;
 
+  const prompts = collection.prompts?.content ?? [];
+  const totalPages = collection.prompts?.totalPages ?? 0;
+
   return (
     <div className="max-w-5xl mx-auto">
       <div className="bg-white p-6 rounded-lg shadow-md mb-8">
@@ -75,10 +83,10 @@ const CollectionDetailPage = () => {
         </div>
       </div>
 
-      <h2 className="text-2xl font-semibold mb-4">Prompts in this Collection</h2>
+      <h2 className="text-2xl font-semibold mb-4">Prompts in this Collection ({collection.promptCount})</h2>
       <div className="space-y-4">
-        {collection.prompts && collection.prompts.length > 0 ? (
-          collection.prompts.map(prompt => (
+        {prompts.length > 0 ? (
+          prompts.map(prompt => (
             <div key={prompt.id} className="bg-white p-4 rounded-lg shadow-sm flex justify-between items-center">
               <div>
                 <Link to={`/prompts/${prompt.id}`} className="text-lg font-bold text-blue-600 hover:underline">{prompt.title}</Link>
@@ -97,6 +105,25 @@ const CollectionDetailPage = () => {
           <p className="text-center text-gray-500 mt-10">This collection is empty. Find some prompts to add!</p>
         )}
       </div>
+      {totalPages > 1 && (
+        <div className="flex justify-center items-center gap-4 mt-6">
+          <button
+            onClick={() => setPage(page - 1)}
+            disabled={page === 0}
+            className="px-4 py-2 bg-gray-200 rounded-lg disabled:opacity-50"
+          >
+            Previous
+          </button>
+          <span className="text-gray-600">Page {page + 1} of {totalPages}</span>
+          <button
+            onClick={() => setPage(page + 1)}
+            disabled={page + 1 >= totalPages}
+            className="px-4 py-2 bg-gray-200 rounded-lg disabled:opacity-50"
+          >
+            Next
+          </button>
+        </div>
+      )}
     </div>
   );
 };
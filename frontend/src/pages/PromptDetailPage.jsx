@@ -17,6 +17,8 @@ const PromptDetailPage = () => {
   const [prompt, setPrompt] = useState(null);
   const [loading, setLoading] = useState(true);
   const [isCollectionModalOpen, setIsCollectionModalOpen] = useState(false);
+  const [reviewsCursor, setReviewsCursor] = useState(null);
+  const [loadingMoreReviews, setLoadingMoreReviews] = useState(false);
   const { id: promptId } = useParams();
   const navigate = useNavigate();
   const { isAuthenticated, user } = useContext(AuthContext);
@@ -26,6 +28,7 @@ const PromptDetailPage = () => {
       setLoading(true);
       const { data } = await api.getPromptById(promptId);
       setPrompt(data);
+      setReviewsCursor(data.reviewsNextCursor);
     } catch (err) {
       toast.error('Failed to fetch prompt details.');
       navigate('/prompts');
@@ -38,17 +41,38 @@ const PromptDetailPage = () => {
     fetchPrompt();
   }, [fetchPrompt]);
 
+  // The detail payload only embeds the newest reviews; older ones are paged in with the cursor
+  const loadMoreReviews = async () => {
+    try {
+      setLoadingMoreReviews(true);
+      const { data } = await api.getReviews(promptId, { cursor: reviewsCursor });
+      setPrompt(prev => ({
+          ...prev,
+          reviews: [...prev.reviews, ...data.content]
+      }));
+      setReviewsCursor(data.nextCursor);
+    } catch (err) {
+      toast.error('Failed to load more reviews.');
+    } finally {
+      setLoadingMoreReviews(false);
+    }
+  };
+
   const onReviewSubmitted = (newReview) => {
     setPrompt(prev => ({
         ...prev,
-        reviews: [newReview, ...prev.reviews]
+        reviews: [newReview, ...prev.reviews],
+        ratingCount: prev.ratingCount + 1,
+        viewerReview: newReview
     }));
   };
 
   const onReviewDeleted = (deletedReviewId) => {
     setPrompt(prev => ({
         ...prev,
-        reviews: prev.reviews.filter(review => review.id !== deletedReviewId)
+        reviews: prev.reviews.filter(review => review.id !== deletedReviewId),
+        ratingCount: Math.max(0, prev.ratingCount - 1),
+        viewerReview: prev.viewerReview?.id === deletedReviewId ? null : prev.viewerReview
     }));
   };
 
@@ -70,7 +94,7 @@ const PromptDetailPage = () => {
   if (!prompt) return <div className="text-center mt-20">Prompt not found.</div>;
 
   const isAuthor = isAuthenticated && user && user.username === prompt.authorUsername;
-  const hasUserReviewed = isAuthenticated && prompt.reviews.some(review => review.authorUsername === user.username);
+  const hasUserReviewed = isAuthenticated && prompt.viewerReview != null;
   const canUserReview = isAuthenticated && !isAuthor && !hasUserReviewed;
   
   const wasEdited = prompt.createdAt !== prompt.updatedAt;
@@ -139,7 +163,7 @@ const PromptDetailPage = () => {
                 <StarRating rating={prompt.averageRating} isEditable={false} />
                 <div className="ml-2">
                     <h4 className="text-sm font-semibold text-gray-500">Avg. Rating</h4>
-                    <p className="font-bold text-gray-800">{prompt.averageRating.toFixed(1)} ({prompt.reviews.length} reviews)</p>
+                    <p className="font-bold text-gray-800">{prompt.averageRating.toFixed(1)} ({prompt.ratingCount} reviews)</p>
                 </div>
             </div>
           </div>
@@ -163,6 +187,17 @@ const PromptDetailPage = () => {
                 <p className="text-center text-gray-500 py-4">No reviews yet. {canUserReview ? 'Be the first to leave one!' : ''}</p>
             )}
           </div>
+          {reviewsCursor && (
+            <div className="flex justify-center mt-6">
+              <button
+                onClick={loadMoreReviews}
+                disabled={loadingMoreReviews}
+                className="px-4 py-2 bg-gray-200 rounded-lg disabled:opacity-50"
+              >
+                {loadingMoreReviews ? 'Loading...' : 'Load more reviews'}
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </>
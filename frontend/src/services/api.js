@@ -28,13 +28,15 @@ export const getTags = () => api.get('/tags');
 export const updatePromptTags = (promptId, tagNames) => api.post(`/prompts/${promptId}/tags`, tagNames);
 
 export const getCollections = () => api.get('/collections');
-export const getCollectionById = (collectionId) => api.get(`/collections/${collectionId}`);
+export const getCollectionById = (collectionId, params) => api.get(`/collections/${collectionId}`, { params });
 export const createCollection = (collectionData) => api.post('/collections', collectionData);
 export const updateCollection = (collectionId, collectionData) => api.put(`/collections/${collectionId}`, collectionData);
 export const deleteCollection = (collectionId) => api.delete(`/collections/${collectionId}`);
 export const addPromptToCollection = (collectionId, promptId) => api.put(`/collections/${collectionId}/prompts/${promptId}`);
 export const removePromptFromCollection = (collectionId, promptId) => api.delete(`/collections/${collectionId}/prompts/${promptId}`);
+export const patchCollectionPrompts = (collectionId, changes) => api.patch(`/collections/${collectionId}/prompts`, changes);
 
+export const getReviews = (promptId, params) => api.get(`/prompts/${promptId}/reviews`, { params });
 export const createReview = (promptId, reviewData) => api.post(`/prompts/${promptId}/reviews`, reviewData);
 export const deleteReview = (reviewId) => api.delete(`/reviews/${reviewId}`);
 